@@ -3,9 +3,15 @@ package app;
 import app.audio.Collections.Album;
 import app.audio.Collections.Playlist;
 import app.audio.Collections.Podcast;
+import app.audio.Files.AudioFile;
 import app.audio.Files.Episode;
 import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+import app.pageSystem.Page;
 import app.pageSystem.PageFactory;
+import app.searchBar.NameIndex;
+import app.searchBar.RangeIndex;
+import app.searchBar.SongIndex;
 import app.user.Artist;
 import app.user.Host;
 import app.user.User;
@@ -13,54 +19,138 @@ import fileio.input.EpisodeInput;
 import fileio.input.PodcastInput;
 import fileio.input.SongInput;
 import fileio.input.UserInput;
-import lombok.Getter;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
 
 /**
  * The type Admin.
+ * One instance holds the whole state of the application for one run, so several runs
+ * can go on at once in the same process. The users, their pages and the search bars
+ * get it from the user that owns them.
  */
 
 public final class Admin {
-    @Getter
-    public static List<User> users = new ArrayList<>();
-    private static List<Song> songs = new ArrayList<>();
-    private static List<Podcast> podcasts = new ArrayList<>();
-    private static List<Album> albums = new ArrayList<>();
-    private static int timestamp = 0;
     private static final int LIMIT = 5;
+    private static final int RADIX = 10;
+
+    // username -> user, in insertion order, so lookups don't scan every account
+    private Map<String, User> users = new LinkedHashMap<>();
+    // the catalog lists are copied on write and never changed in place, so any thread
+    // can read the current one without a copy or a lock
+    private volatile List<Song> songs = List.of();
+    private final SongIndex songIndex = new SongIndex();
+    private final Leaderboard<Song> songLikes = new Leaderboard<>();
+    // likes of the library songs of every artist name, and the artists ranked by them
+    private final Map<String, Integer> artistLikes = new HashMap<>();
+    private final Leaderboard<String> artistRanking = new Leaderboard<>();
+    // the album of every song added with one, and the albums ranked by their likes
+    private final Map<Song, Album> songAlbums = new HashMap<>();
+    private final Leaderboard<Album> albumRanking =
+            new Leaderboard<>(Comparator.comparing(Album::getName));
+    private volatile List<Podcast> podcasts = List.of();
+    // prefix indexes over the names of what can be searched, see NameIndex
+    private final NameIndex<Artist> artistNames = new NameIndex<>();
+    private final NameIndex<Host> hostNames = new NameIndex<>();
+    private final NameIndex<Album> albumNames = new NameIndex<>();
+    private final NameIndex<Podcast> podcastNames = new NameIndex<>();
+    private final NameIndex<Playlist> playlistNames = new NameIndex<>();
+    // every playlist by its search order, the playlists ranked by their followers,
+    // and the playlists by their followers for the follower range of a search
+    private final NavigableMap<Long, Playlist> playlists = new TreeMap<>();
+    private final Leaderboard<Playlist> playlistRanking =
+            new Leaderboard<>(Comparator.comparingInt(Playlist::getTimestamp));
+    private final RangeIndex<Playlist> playlistsByFollowers = new RangeIndex<>();
+    // playlist -> users following it, the other way is the followed list of every user
+    private final Map<Playlist, Set<User>> followers = new HashMap<>();
+    // song -> users that like it, the other way is the liked songs of every user
+    private final Map<Song, Set<User>> likers = new HashMap<>();
+    // page -> users currently on it, pages are compared by identity
+    private final Map<Page, Set<User>> pageVisitors = new HashMap<>();
+    // order in which users and their content were added, which is the search order
+    private final Map<String, Long> userOrders = new HashMap<>();
+    private long sequence = 0;
+    private int timestamp = 0;
+    // the timestamp of the command a user actor runs, see SessionCoordinator
+    private final ThreadLocal<Integer> localTimestamp = new ThreadLocal<>();
+    private final ListenerIndex listenerIndex = new ListenerIndex();
+    private final PlaybackScheduler scheduler = new PlaybackScheduler(listenerIndex);
+    // the last album a user loaded, see Artist#removeAlbum
+    private LibraryEntry albumLoaded;
 
-
-    private Admin() {
+    /**
+     * Instantiates a new Admin, with an empty library and no users.
+     */
+    public Admin() {
     }
 
     /**
      * Sets users.
+     * A username names one user: the users are indexed by it, and addUser refuses a
+     * name that is taken. So if the input repeats a username, only the first user
+     * with it is kept. A later one could never be looked up anyway, since the lookup
+     * always finds the first user with the name.
      *
      * @param userInputList the user input list
      */
-    public static void setUsers(final List<UserInput> userInputList) {
-        users = new ArrayList<>();
+    public void setUsers(final List<UserInput> userInputList) {
+        users = new LinkedHashMap<>();
         for (UserInput userInput : userInputList) {
-            users.add(new User(userInput.getUsername(), userInput.getAge(), userInput.getCity()));
+            if (!users.containsKey(userInput.getUsername())) {
+                registerUser(new User(this, userInput.getUsername(), userInput.getAge(),
+                        userInput.getCity()));
+            }
+        }
+    }
+
+    private void registerUser(final User user) {
+        users.put(user.getUsername(), user);
+        movePageVisitor(user, null, user.getCurrentPage());
+        userOrders.put(user.getUsername(), ++sequence);
+        if (user.isArtist()) {
+            artistNames.add((Artist) user, userOrders.get(user.getUsername()));
+            artistRanking.add(user.getUsername(), userOrders.get(user.getUsername()),
+                    artistLikes.getOrDefault(user.getUsername(), 0));
+        } else if (user.isHost()) {
+            hostNames.add((Host) user, userOrders.get(user.getUsername()));
         }
     }
 
     /**
-     * Adds a new album to the list of albums in the application.
+     * Gets the search order of something owned by a user: after everything owned
+     * by the users added before the owner, and after what the owner already has.
+     */
+    private long ownedOrder(final String owner) {
+        return (userOrders.getOrDefault(owner, 0L) << Integer.SIZE) + ++sequence;
+    }
+
+    /**
+     * Adds a new album to the name index and the ranking of the albums.
      *
      * @param album The album to be added.
      */
-    public static void addAlbum(final Album album) {
-        if (albums.stream().anyMatch(existingAlbum -> existingAlbum
-                .getName().equals(album.getName()))) {
-            return;
+    public void addAlbum(final Album album) {
+        long order = ownedOrder(album.getOwner());
+        albumNames.add(album, order);
+        int likes = 0;
+        for (Song song : album.getAllSongs()) {
+            songAlbums.put(song, album);
+            likes += song.getLikes();
         }
-        albums.add(album);
+        album.setLikes(likes);
+        albumRanking.add(album, order, likes);
     }
 
     /**
@@ -68,13 +158,19 @@ public final class Admin {
      *
      * @param songInputList the song input list
      */
-    public static void setSongs(final List<SongInput> songInputList) {
-        songs = new ArrayList<>();
+    public void setSongs(final List<SongInput> songInputList) {
+        for (Song song : songs) {
+            unindexSong(song);
+        }
+        List<Song> library = new ArrayList<>();
         for (SongInput songInput : songInputList) {
-            songs.add(new Song(songInput.getName(), songInput.getDuration(), songInput.getAlbum(),
-                    songInput.getTags(), songInput.getLyrics(), songInput.getGenre(),
-                    songInput.getReleaseYear(), songInput.getArtist()));
+            Song song = new Song(songInput.getName(), songInput.getDuration(),
+                    songInput.getAlbum(), songInput.getTags(), songInput.getLyrics(),
+                    songInput.getGenre(), songInput.getReleaseYear(), songInput.getArtist());
+            library.add(song);
+            indexSong(song);
         }
+        songs = Collections.unmodifiableList(library);
     }
 
 
@@ -83,8 +179,8 @@ public final class Admin {
      *
      * @param podcastInputList the podcast input list
      */
-    public static void setPodcasts(final List<PodcastInput> podcastInputList) {
-        podcasts = new ArrayList<>();
+    public void setPodcasts(final List<PodcastInput> podcastInputList) {
+        List<Podcast> library = new ArrayList<>();
         for (PodcastInput podcastInput : podcastInputList) {
             List<Episode> episodes = new ArrayList<>();
             for (EpisodeInput episodeInput : podcastInput.getEpisodes()) {
@@ -92,39 +188,148 @@ public final class Admin {
                         episodeInput.getDuration(),
                         episodeInput.getDescription()));
             }
-            podcasts.add(new Podcast(podcastInput.getName(), podcastInput.getOwner(), episodes));
+            Podcast podcast = new Podcast(podcastInput.getName(), podcastInput.getOwner(),
+                    episodes);
+            library.add(podcast);
+            podcastNames.add(podcast, ++sequence);
         }
+        podcasts = Collections.unmodifiableList(library);
     }
 
     /**
      * Gets songs.
      *
-     * @return the songs
+     * @return the songs, as a list that can't be changed
+     */
+    public List<Song> getSongs() {
+        return songs;
+    }
+
+    /**
+     * Gets the index of the songs in the library.
+     *
+     * @return the song index
+     */
+    public SongIndex getSongIndex() {
+        return songIndex;
+    }
+
+    /**
+     * Gets the songs of the library ranked by their likes.
+     *
+     * @return the song likes
+     */
+    public Leaderboard<Song> getSongLikes() {
+        return songLikes;
+    }
+
+    /**
+     * Gets the name index of the artists.
+     *
+     * @return the artist names
+     */
+    public NameIndex<Artist> getArtistNames() {
+        return artistNames;
+    }
+
+    /**
+     * Gets the name index of the hosts.
+     *
+     * @return the host names
+     */
+    public NameIndex<Host> getHostNames() {
+        return hostNames;
+    }
+
+    /**
+     * Gets the name index of the albums.
+     *
+     * @return the album names
      */
-    public static List<Song> getSongs() {
-        return new ArrayList<>(songs);
+    public NameIndex<Album> getAlbumNames() {
+        return albumNames;
+    }
+
+    /**
+     * Gets the name index of the podcasts.
+     *
+     * @return the podcast names
+     */
+    public NameIndex<Podcast> getPodcastNames() {
+        return podcastNames;
+    }
+
+    /**
+     * Gets the name index of the playlists.
+     *
+     * @return the playlist names
+     */
+    public NameIndex<Playlist> getPlaylistNames() {
+        return playlistNames;
     }
 
     /**
      * Gets podcasts.
      *
-     * @return the podcasts
+     * @return the podcasts, as a list that can't be changed
      */
-    public static List<Podcast> getPodcasts() {
-        return new ArrayList<>(podcasts);
+    public List<Podcast> getPodcasts() {
+        return podcasts;
     }
 
     /**
      * Gets playlists.
      *
-     * @return the playlists
+     * @return the playlists, in search order, as a view that can't be changed
      */
-    public static List<Playlist> getPlaylists() {
-        List<Playlist> playlists = new ArrayList<>();
-        for (User user : users) {
-            playlists.addAll(user.getPlaylists());
+    public Collection<Playlist> getPlaylists() {
+        return Collections.unmodifiableCollection(playlists.values());
+    }
+
+    /**
+     * Gets the first playlists whose number of followers matches a query
+     * like "<10", ">10" or "10" and that are accepted by the filter.
+     *
+     * @param query  the followers query
+     * @param filter the other filters of the search
+     * @param limit  the maximum number of playlists
+     * @return the playlists, in the same order as {@link #getPlaylists()}
+     */
+    public List<Playlist> getPlaylistsByFollowers(final String query,
+                                                  final Predicate<? super Playlist> filter,
+                                                  final int limit) {
+        if (query.startsWith("<")) {
+            return playlistsByFollowers.between(Integer.MIN_VALUE, true,
+                    Integer.parseInt(query, 1, query.length(), RADIX), false, filter, limit);
+        } else if (query.startsWith(">")) {
+            return playlistsByFollowers.between(
+                    Integer.parseInt(query, 1, query.length(), RADIX), false,
+                    Integer.MAX_VALUE, true, filter, limit);
+        } else {
+            int followers = Integer.parseInt(query);
+            return playlistsByFollowers.between(followers, true, followers, true,
+                    filter, limit);
         }
-        return playlists;
+    }
+
+    /**
+     * Updates the ranking and the follower index after the followers of a playlist
+     * changed.
+     *
+     * @param playlist the playlist
+     */
+    public void updateFollowers(final Playlist playlist) {
+        playlistRanking.update(playlist, playlist.getFollowers());
+        playlistsByFollowers.update(playlist, playlist.getFollowers());
+    }
+
+    /**
+     * Gets users.
+     *
+     * @return the users, in the order they were added
+     */
+    public Collection<User> getUsers() {
+        return users.values();
     }
 
     /**
@@ -133,30 +338,124 @@ public final class Admin {
      * @param username the username
      * @return the user
      */
-    public static User getUser(final String username) {
-        for (User user : users) {
-            if (user.getUsername().equals(username)) {
-                return user;
+    public User getUser(final String username) {
+        User user = users.get(username);
+        if (user != null) {
+            user.updatePlayer();
+        }
+        return user;
+    }
+
+    /**
+     * Gets the scheduler of the track boundaries of the players.
+     *
+     * @return the playback scheduler
+     */
+    public PlaybackScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Gets the index of what the players of the users are playing.
+     *
+     * @return the listener index
+     */
+    public ListenerIndex getListenerIndex() {
+        return listenerIndex;
+    }
+
+    /**
+     * Gets the last album loaded by a user.
+     *
+     * @return the album, or null if no album was loaded yet
+     */
+    public LibraryEntry getAlbumLoaded() {
+        return albumLoaded;
+    }
+
+    /**
+     * Sets the last album loaded by a user.
+     *
+     * @param album the album
+     */
+    public void setAlbumLoaded(final LibraryEntry album) {
+        albumLoaded = album;
+    }
+
+    /**
+     * Removes a user from the application.
+     *
+     * @param user the user to be removed
+     */
+    public void removeUser(final User user) {
+        scheduler.cancel(user);
+        movePageVisitor(user, user.getCurrentPage(), null);
+        users.remove(user.getUsername());
+        Long userOrder = userOrders.remove(user.getUsername());
+        if (userOrder != null) {
+            // the playlists of a user are the ones with its order in the high bits
+            playlists.subMap(userOrder << Integer.SIZE, (userOrder + 1) << Integer.SIZE).clear();
+        }
+        for (Playlist playlist : user.getPlaylists()) {
+            playlistNames.remove(playlist);
+            playlistRanking.remove(playlist);
+            playlistsByFollowers.remove(playlist);
+        }
+        for (Song song : user.getLikedSongs()) {
+            removeLiker(song, user);
+        }
+        if (user.isArtist()) {
+            artistNames.remove((Artist) user);
+            artistRanking.remove(user.getUsername());
+            for (Album album : ((Artist) user).getAlbums()) {
+                albumNames.remove(album);
+                albumRanking.remove(album);
             }
+        } else if (user.isHost()) {
+            hostNames.remove((Host) user);
+        }
+    }
+
+    /**
+     * Gets the current timestamp.
+     *
+     * @return the timestamp
+     */
+    public int getTimestamp() {
+        Integer local = localTimestamp.get();
+        return local != null ? local : timestamp;
+    }
+
+    /**
+     * Sets the timestamp seen by the current thread only, so a user actor can run the
+     * commands of its user at their own timestamps without moving the time of the
+     * application.
+     *
+     * @param local the timestamp, or null to see the one of the application
+     */
+    public void setLocalTimestamp(final Integer local) {
+        if (local == null) {
+            localTimestamp.remove();
+        } else {
+            localTimestamp.set(local);
         }
-        return null;
     }
 
     /**
      * Update timestamp.
+     * Only the players whose track ends in the elapsed time are simulated here,
+     * the others catch up when their user is looked up with {@link #getUser(String)}.
      *
      * @param newTimestamp the new timestamp
      */
-    public static void updateTimestamp(final int newTimestamp) {
+    public void updateTimestamp(final int newTimestamp) {
         int elapsed = newTimestamp - timestamp;
         timestamp = newTimestamp;
         if (elapsed == 0) {
             return;
         }
 
-        for (User user : users) {
-            user.simulateTime(elapsed);
-        }
+        scheduler.advanceTo(newTimestamp);
     }
 
     /**
@@ -164,17 +463,10 @@ public final class Admin {
      *
      * @return the top 5 songs
      */
-    public static List<String> getTop5Songs() {
-        List<Song> sortedSongs = new ArrayList<>(songs);
-        sortedSongs.sort(Comparator.comparingInt(Song::getLikes).reversed());
+    public List<String> getTop5Songs() {
         List<String> topSongs = new ArrayList<>();
-        int count = 0;
-        for (Song song : sortedSongs) {
-            if (count >= LIMIT) {
-                break;
-            }
+        for (Song song : songLikes.top(LIMIT)) {
             topSongs.add(song.getName());
-            count++;
         }
         return topSongs;
     }
@@ -184,26 +476,8 @@ public final class Admin {
      *
      * @return The list of top 5 artists.
      */
-    public static List<String> getTop5Artists() {
-        List<Artist> sortedArtists = new ArrayList<>(getArtists());
-        for (Artist artist : sortedArtists) {
-            for (Song iter : songs) {
-                if (iter.getArtist().equals(artist.getUsername())) {
-                    artist.setLikes(artist.getLikes() + iter.getLikes());
-                }
-            }
-        }
-        sortedArtists.sort(Comparator.comparingInt(Artist::getLikes).reversed());
-        List<String> topArtists = new ArrayList<>();
-        int count = 0;
-        for (Artist artist : sortedArtists) {
-            if (count >= LIMIT) {
-                break;
-            }
-            topArtists.add(artist.getUsername());
-            count++;
-        }
-        return topArtists;
+    public List<String> getTop5Artists() {
+        return artistRanking.top(LIMIT);
     }
 
     /**
@@ -211,37 +485,10 @@ public final class Admin {
      *
      * @return The list of top 5 albums.
      */
-    public static List<String> getTop5Albums() {
-        List<Album> sortedAlbums = new ArrayList<>(getAlbums());
-        Set<String> uniqueAlbumNames = new HashSet<>();
-
-        for (Album album : sortedAlbums) {
-            if (uniqueAlbumNames.contains(album.getName())) {
-                continue;
-            }
-
-            for (Song iter : songs) {
-                if (iter.getAlbum().equals(album.getName())) {
-                    album.setLikes(album.getLikes() + iter.getLikes());
-                }
-            }
-            uniqueAlbumNames.add(album.getName());
-        }
-
-        sortedAlbums.sort(Comparator
-                .comparingInt(Album::getLikes)
-                .reversed()
-                .thenComparing(Album::getName));
-
+    public List<String> getTop5Albums() {
         List<String> topAlbums = new ArrayList<>();
-
-        int count = 0;
-        for (Album album : sortedAlbums) {
-            if (count >= LIMIT) {
-                break;
-            }
+        for (Album album : albumRanking.top(LIMIT)) {
             topAlbums.add(album.getName());
-            count++;
         }
         return topAlbums;
     }
@@ -251,19 +498,10 @@ public final class Admin {
      *
      * @return the top 5 playlists
      */
-    public static List<String> getTop5Playlists() {
-        List<Playlist> sortedPlaylists = new ArrayList<>(getPlaylists());
-        sortedPlaylists.sort(Comparator.comparingInt(Playlist::getFollowers)
-                .reversed()
-                .thenComparing(Playlist::getTimestamp, Comparator.naturalOrder()));
+    public List<String> getTop5Playlists() {
         List<String> topPlaylists = new ArrayList<>();
-        int count = 0;
-        for (Playlist playlist : sortedPlaylists) {
-            if (count >= LIMIT) {
-                break;
-            }
+        for (Playlist playlist : playlistRanking.top(LIMIT)) {
             topPlaylists.add(playlist.getName());
-            count++;
         }
         return topPlaylists;
     }
@@ -273,9 +511,9 @@ public final class Admin {
      *
      * @return The list of online users.
      */
-    public static ArrayList<String> getOnlineUsers() {
+    public ArrayList<String> getOnlineUsers() {
         ArrayList<String> onlineUsers = new ArrayList<>();
-        for (User user : users) {
+        for (User user : users.values()) {
             if (user.isOnline()) {
                 onlineUsers.add(user.getUsername());
             }
@@ -293,27 +531,27 @@ public final class Admin {
      * @param type     The type of the new user (e.g., "regular", "artist", "host").
      * @return A message indicating the success or failure of the operation.
      */
-    public static String addUser(final String username,
+    public String addUser(final String username,
                                  final int age, final String city,
                                  final boolean online, final String type) {
-        if (users.stream().anyMatch(existingUser -> existingUser.getUsername().equals(username))) {
+        if (users.containsKey(username)) {
             return "The username " + username + " is already taken.";
         } else {
             User user;
            // Page pageFactory;
             // in functie de tipul userului se creeaza pagina corespunzatoare
             if (type.equals("artist")) {
-                user = new Artist(username, age, city, online, type);
+                user = new Artist(this, username, age, city, online, type);
                user.setCurrentPage(PageFactory.createPage(user));
             } else if (type.equals("host")) {
-                user = new Host(username, age, city, online, type);
+                user = new Host(this, username, age, city, online, type);
                 user.setCurrentPage(PageFactory.createPage(user));
             } else {
-                user = new User(username, age, city);
+                user = new User(this, username, age, city);
                 user.setCurrentPage(PageFactory.createPage(user));
             }
 
-            users.add(user);
+            registerUser(user);
 
 
             return "The username " + username + " has been added successfully.";
@@ -326,22 +564,22 @@ public final class Admin {
      *
      * @return The list of all users.
      */
-    public static List<String> getAllUsers() {
+    public List<String> getAllUsers() {
         List<String> allUsers = new ArrayList<>();
 
-        for (User user : users) {
+        for (User user : users.values()) {
             if (user.getType().equals("regular")) {
                 allUsers.add(user.getUsername());
             }
         }
 
-        for (User user : users) {
+        for (User user : users.values()) {
             if (user.getType().equals("artist")) {
                 allUsers.add(user.getUsername());
             }
         }
 
-        for (User user : users) {
+        for (User user : users.values()) {
             if (user.getType().equals("host")) {
                 allUsers.add(user.getUsername());
             }
@@ -356,7 +594,7 @@ public final class Admin {
      * @param username The username of the user to be deleted.
      * @return A message indicating the success or failure of the operation.
      */
-    public static String deleteAllType(final String username) {
+    public String deleteAllType(final String username) {
         User user = getUser(username);
 
         if (user == null) {
@@ -375,19 +613,37 @@ public final class Admin {
      * @param username The username of the user to be checked.
      * @return "pageVisit" if the user is currently on a page, "noPagevisit" otherwise.
      */
-    private static String getPageVisitStatus(final String username) {
+    private String getPageVisitStatus(final String username) {
         User userToCheck = getUser(username);
-        String pageVisit = "no";
+        Set<User> visitors = pageVisitors.getOrDefault(userToCheck.getCurrentPage(),
+                Collections.emptySet());
+
+        int others = visitors.size() - (visitors.contains(userToCheck) ? 1 : 0);
+        return others > 0 ? "yes" : "no";
+    }
 
-        for (User user : users) {
-            if (userToCheck.getCurrentPage().equals(user.getCurrentPage())
-                    && !user.getName().equals(username)) {
-                pageVisit = "yes";
-                break;
+    /**
+     * Moves a user from the visitors of a page to the visitors of another one.
+     * Selecting a page is user-local, so the user actors may move visitors at once.
+     *
+     * @param user the user
+     * @param from the page the user leaves, or null
+     * @param to   the page the user visits, or null
+     */
+    public synchronized void movePageVisitor(final User user, final Page from,
+                                                    final Page to) {
+        if (from != null) {
+            Set<User> visitors = pageVisitors.get(from);
+            if (visitors != null) {
+                visitors.remove(user);
+                if (visitors.isEmpty()) {
+                    pageVisitors.remove(from);
+                }
             }
         }
-
-        return pageVisit;
+        if (to != null) {
+            pageVisitors.computeIfAbsent(to, page -> new HashSet<>()).add(user);
+        }
     }
 
     /**
@@ -396,39 +652,48 @@ public final class Admin {
      * @param username The username of the user to be checked.
      * @return A message indicating if the user can be deleted or not.
      */
-    public static String verification(final String username) {
-        for (User user : users) {
-
-            if (user.getPlayer().getSource() != null && !user.getPlayer().getPaused()) {
-                if (user.getPlayer().getSource().getAudioFile().getClass().equals(Song.class)) {
-                    Song song = (Song) user.getPlayer().getSource().getAudioFile();
-                    // Se verifica daca exista vreun user care aculta
-                    // o meldodie a artistului care urmeaza sa fie sters
-                    if (song.getArtist().equals(username)) {
-                        return "album";
-                    } else {
-                        // Se verifica daca exista vreun user care asculta
-                        // un playlist al userului care urmeaza sa fie sters
-                        for (Playlist playlist : Admin.getUser(username).getPlaylists()) {
-                            if (playlist.getSongs().stream().anyMatch(song1 -> song1
-                                    .getName().equals(user.getPlayer()
-                                            .getSource().getAudioFile().getName()))) {
-                                return "playlist";
-                            }
-                        }
-                    }
-                } else if (user.getPlayer().getSource().getAudioCollection()
-                        .getClass().equals(Podcast.class)) {
-                    // Se verifica daca exista vreun user care asculta
-                    // un podcast al hostului care urmeaza sa fie sters
-                    Podcast podcast = (Podcast) user.getPlayer().getSource().getAudioCollection();
-                    if (podcast.getOwner().equals(username)) {
-                        return "podcast";
+    public String verification(final String username) {
+        // the answer comes from the first user, in user order, that plays something of theirs
+        User first = null;
+        String result = "no";
+
+        // Se verifica daca exista vreun user care aculta
+        // o meldodie a artistului care urmeaza sa fie sters
+        for (User user : listenerIndex.playingArtist(username)) {
+            if (first == null || userOrders.get(user.getUsername())
+                    < userOrders.get(first.getUsername())) {
+                first = user;
+                result = "album";
+            }
+        }
+
+        // Se verifica daca exista vreun user care asculta
+        // un playlist al userului care urmeaza sa fie sters
+        for (Playlist playlist : users.get(username).getPlaylists()) {
+            for (Song song : playlist.getSongs()) {
+                for (User user : listenerIndex.playingFile(song.getName())) {
+                    AudioFile file = user.getPlayer().getCurrentAudioFile();
+                    if (file.getClass().equals(Song.class)
+                            && !((Song) file).getArtist().equals(username)
+                            && (first == null || userOrders.get(user.getUsername())
+                            < userOrders.get(first.getUsername()))) {
+                        first = user;
+                        result = "playlist";
                     }
                 }
             }
         }
-        return "no";
+
+        // Se verifica daca exista vreun user care asculta
+        // un podcast al hostului care urmeaza sa fie sters
+        for (User user : listenerIndex.playingPodcastOf(username)) {
+            if (first == null || userOrders.get(user.getUsername())
+                    < userOrders.get(first.getUsername())) {
+                first = user;
+                result = "podcast";
+            }
+        }
+        return result;
     }
 
     /**
@@ -436,15 +701,11 @@ public final class Admin {
      *
      * @param deletedUser The user being deleted.
      */
-    public static void decrementFollowers(final User deletedUser) {
-        for (User user : users) {
-            for (Playlist playlist : deletedUser.getFollowedPlaylists()) {
-                for (Playlist playlist1 : user.getPlaylists()) {
-                    if (playlist.getName().equals(playlist1.getName())) {
-                        playlist1.setFollowers(playlist1.getFollowers() - 1);
-                    }
-                }
-            }
+    public void decrementFollowers(final User deletedUser) {
+        for (Playlist playlist : deletedUser.getFollowedPlaylists()) {
+            playlist.decreaseFollowers();
+            updateFollowers(playlist);
+            unfollow(deletedUser, playlist);
         }
     }
 
@@ -454,15 +715,26 @@ public final class Admin {
      * @param artist   The artist being deleted.
      * @param username The username of the artist.
      */
-    public static void updateSongs(final Artist artist, final String username) {
+    public void updateSongs(final Artist artist, final String username) {
         // Se sterg toate melodiile artistului din lista de melodii
         getAlbums().removeIf(album -> album.getOwner().equals(username));
-        songs.removeIf(song -> song.getArtist().equals(username));
+        List<Song> remaining = new ArrayList<>(songs);
+        remaining.removeIf(song -> {
+            if (song.getArtist().equals(username)) {
+                unindexSong(song);
+                return true;
+            }
+            return false;
+        });
+        songs = Collections.unmodifiableList(remaining);
 
         for (Album album : artist.getAlbums()) {
             for (Song song : album.getAllSongs()) {
-                for (User user : users) {
-                    user.updateLikedSongs(song.getName());
+                Set<User> songLikers = likers.remove(song);
+                if (songLikers != null) {
+                    for (User user : songLikers) {
+                        user.removeLikedSong(song);
+                    }
                 }
             }
         }
@@ -473,11 +745,66 @@ public final class Admin {
      *
      * @param deletedUser The user being deleted.
      */
-    public static void updateFollowedPlaylists(final User deletedUser) {
-        //Se sterg toate urmaririle userului din listele de urmariri
+    public void updateFollowedPlaylists(final User deletedUser) {
+        //Se sterg toate urmaririle playlisturilor userului din listele de urmariri
         for (Playlist playlist : deletedUser.getPlaylists()) {
-            for (User user : users) {
-                user.updateFollowedPlaylistsUser(playlist.getName());
+            Set<User> playlistFollowers = followers.remove(playlist);
+            if (playlistFollowers != null) {
+                for (User user : playlistFollowers) {
+                    user.removeFollowedPlaylist(playlist);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records that a user likes a song.
+     *
+     * @param song the song
+     * @param user the user
+     */
+    public void addLiker(final Song song, final User user) {
+        likers.computeIfAbsent(song, key -> new LinkedHashSet<>()).add(user);
+    }
+
+    /**
+     * Records that a user no longer likes a song.
+     *
+     * @param song the song
+     * @param user the user
+     */
+    public void removeLiker(final Song song, final User user) {
+        Set<User> songLikers = likers.get(song);
+        if (songLikers != null) {
+            songLikers.remove(user);
+            if (songLikers.isEmpty()) {
+                likers.remove(song);
+            }
+        }
+    }
+
+    /**
+     * Records that a user follows a playlist.
+     *
+     * @param user     the user
+     * @param playlist the playlist
+     */
+    public void follow(final User user, final Playlist playlist) {
+        followers.computeIfAbsent(playlist, key -> new LinkedHashSet<>()).add(user);
+    }
+
+    /**
+     * Records that a user no longer follows a playlist.
+     *
+     * @param user     the user
+     * @param playlist the playlist
+     */
+    public void unfollow(final User user, final Playlist playlist) {
+        Set<User> playlistFollowers = followers.get(playlist);
+        if (playlistFollowers != null) {
+            playlistFollowers.remove(user);
+            if (playlistFollowers.isEmpty()) {
+                followers.remove(playlist);
             }
         }
     }
@@ -487,10 +814,52 @@ public final class Admin {
      *
      * @param songsList The list of songs to be added.
      */
-    public static void addSongs(final List<Song> songsList) {
+    public void addSongs(final List<Song> songsList) {
         for (Song song : songsList) {
-            songs.add(song);
+            indexSong(song);
         }
+        songs = appended(songs, songsList);
+    }
+
+    private void indexSong(final Song song) {
+        songIndex.add(song);
+        songLikes.add(song, ++sequence, song.getLikes());
+        addArtistLikes(song.getArtist(), song.getLikes());
+    }
+
+    private void unindexSong(final Song song) {
+        if (songLikes.contains(song)) {
+            addArtistLikes(song.getArtist(), -song.getLikes());
+        }
+        songAlbums.remove(song);
+        songIndex.remove(song);
+        songLikes.remove(song);
+    }
+
+    /**
+     * Updates the rankings after the likes of a song changed.
+     * Songs that are no longer in the library don't count.
+     *
+     * @param song  the song
+     * @param delta the change of its likes
+     */
+    public void updateLikes(final Song song, final int delta) {
+        if (!songLikes.contains(song)) {
+            return;
+        }
+        songLikes.update(song, song.getLikes());
+        addArtistLikes(song.getArtist(), delta);
+
+        Album album = songAlbums.get(song);
+        if (album != null) {
+            album.setLikes(album.getLikes() + delta);
+            albumRanking.update(album, album.getLikes());
+        }
+    }
+
+    private void addArtistLikes(final String artist, final int delta) {
+        int likes = artistLikes.merge(artist, delta, Integer::sum);
+        artistRanking.update(artist, likes);
     }
 
     /**
@@ -498,9 +867,9 @@ public final class Admin {
      *
      * @return The list of artists.
      */
-    public static ArrayList<Artist> getArtists() {
+    public ArrayList<Artist> getArtists() {
         ArrayList<Artist> artists = new ArrayList<>();
-        for (User user : users) {
+        for (User user : users.values()) {
             if (user.getType().equals("artist")) {
                 artists.add((Artist) user);
             }
@@ -513,9 +882,9 @@ public final class Admin {
      *
      * @return The list of albums.
      */
-    public static ArrayList<Album> getAlbums() {
+    public ArrayList<Album> getAlbums() {
         ArrayList<Album> albumsArray = new ArrayList<>();
-        for (User user : users) {
+        for (User user : users.values()) {
             if (user.getType().equals("artist")) {
                 if ((albumsArray.containsAll(((Artist) user).getAlbums()))) {
                     continue;
@@ -531,8 +900,32 @@ public final class Admin {
      *
      * @param podcast The podcast to be added.
      */
-    public static void addPodcast(final Podcast podcast) {
-        podcasts.add(podcast);
+    public void addPodcast(final Podcast podcast) {
+        podcasts = appended(podcasts, List.of(podcast));
+        podcastNames.add(podcast, ++sequence);
+    }
+
+    /**
+     * Adds a playlist created by a user.
+     *
+     * @param playlist The playlist to be added.
+     */
+    public void addPlaylist(final Playlist playlist) {
+        long order = ownedOrder(playlist.getOwner());
+        playlists.put(order, playlist);
+        playlistNames.add(playlist, order);
+        playlistRanking.add(playlist, order, playlist.getFollowers());
+        playlistsByFollowers.add(playlist, order, playlist.getFollowers());
+    }
+
+    /**
+     * Copies a catalog list with more entries at its end.
+     */
+    private static <T> List<T> appended(final List<T> list, final List<? extends T> added) {
+        List<T> copy = new ArrayList<>(list.size() + added.size());
+        copy.addAll(list);
+        copy.addAll(added);
+        return Collections.unmodifiableList(copy);
     }
 
     /**
@@ -540,24 +933,13 @@ public final class Admin {
      *
      * @return The list of hosts.
      */
-    public static ArrayList<Host> getHosts() {
+    public ArrayList<Host> getHosts() {
         ArrayList<Host> hosts = new ArrayList<>();
-        for (User user : users) {
+        for (User user : users.values()) {
             if (user.getType().equals("host")) {
                 hosts.add((Host) user);
             }
         }
         return hosts;
     }
-
-
-    /**
-     * Reset.
-     */
-    public static void reset() {
-        users = new ArrayList<>();
-        songs = new ArrayList<>();
-        podcasts = new ArrayList<>();
-        timestamp = 0;
-    }
 }
@@ -0,0 +1,207 @@
+package app;
+
+import app.user.User;
+import fileio.input.CommandInput;
+import fileio.output.CommandResult;
+import fileio.output.CommandResult.Envelope;
+import fileio.output.ErrorResult;
+import fileio.output.MessageResult;
+import fileio.output.SearchResult;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Runs the commands through one pipeline: the timestamp of the application is moved
+ * to the command, the user who gave it is looked up and checked, and only then the
+ * handler of the command runs. The handlers are registered once, by command type.
+ * No lock is taken: the commands of a user run one at a time on its actor, and a
+ * global command runs alone, see {@link SessionCoordinator}.
+ */
+public final class CommandDispatcher {
+    private static final Map<CommandType, Route> ROUTES = new EnumMap<>(CommandType.class);
+
+    static {
+        user(CommandType.SEARCH, CommandRunner::search, null,
+                (input, message) -> new SearchResult(input, message, new ArrayList<>()));
+        user(CommandType.SELECT, CommandRunner::select);
+        user(CommandType.LOAD, CommandRunner::load);
+        user(CommandType.PLAY_PAUSE, CommandRunner::playPause);
+        user(CommandType.REPEAT, CommandRunner::repeat);
+        user(CommandType.SHUFFLE, CommandRunner::shuffle);
+        user(CommandType.FORWARD, CommandRunner::forward);
+        user(CommandType.BACKWARD, CommandRunner::backward);
+        user(CommandType.LIKE, CommandRunner::like,
+                input -> new ErrorResult(input,
+                        "User not found for username: " + input.getUsername()),
+                MessageResult::new);
+        user(CommandType.NEXT, CommandRunner::next);
+        user(CommandType.PREV, CommandRunner::prev);
+        user(CommandType.CREATE_PLAYLIST, CommandRunner::createPlaylist);
+        user(CommandType.ADD_REMOVE_IN_PLAYLIST, CommandRunner::addRemoveInPlaylist);
+        user(CommandType.SWITCH_VISIBILITY, CommandRunner::switchVisibility);
+        user(CommandType.SHOW_PLAYLISTS, CommandRunner::showPlaylists);
+        user(CommandType.FOLLOW, CommandRunner::follow);
+        user(CommandType.STATUS, CommandRunner::status);
+        user(CommandType.SHOW_PREFERRED_SONGS, CommandRunner::showLikedSongs);
+        user(CommandType.GET_PREFERRED_GENRE, CommandRunner::getPreferredGenre);
+        global(CommandType.GET_TOP5_SONGS, CommandRunner::getTop5Songs);
+        global(CommandType.GET_TOP5_PLAYLISTS, CommandRunner::getTop5Playlists);
+        existingUser(CommandType.SWITCH_CONNECTION_STATUS,
+                CommandRunner::switchConnectionStatus);
+        global(CommandType.GET_ONLINE_USERS, CommandRunner::getOnlineUsers);
+        global(CommandType.ADD_USER, CommandRunner::addUser);
+        user(CommandType.ADD_ALBUM, CommandRunner::addAlbum);
+        user(CommandType.SHOW_ALBUMS, CommandRunner::showAlbums);
+        existingUser(CommandType.ADD_EVENT, CommandRunner::addEvent);
+        user(CommandType.PRINT_CURRENT_PAGE, CommandRunner::printCurrentPage, null,
+                (input, message) -> new MessageResult(input, Envelope.USER_COMMAND_TIMESTAMP,
+                        message));
+        existingUser(CommandType.ADD_MERCH, CommandRunner::addMerch);
+        global(CommandType.GET_ALL_USERS, CommandRunner::getAllUsers);
+        global(CommandType.DELETE_USER, CommandRunner::deleteUser);
+        existingUser(CommandType.ADD_PODCAST, CommandRunner::addPodcast);
+        user(CommandType.ADD_ANNOUNCEMENT, CommandRunner::addAnnouncement);
+        existingUser(CommandType.REMOVE_ANNOUNCEMENT, CommandRunner::removeAnnouncement);
+        existingUser(CommandType.SHOW_PODCASTS, CommandRunner::showPodcasts);
+        existingUser(CommandType.REMOVE_ALBUM, CommandRunner::removeAlbum);
+        user(CommandType.CHANGE_PAGE, CommandRunner::changePage,
+                CommandDispatcher::missingUser, MessageResult::new);
+        existingUser(CommandType.REMOVE_PODCAST, CommandRunner::removePodcast);
+        global(CommandType.GET_TOP5_ALBUMS, CommandRunner::getTop5Albums);
+        existingUser(CommandType.REMOVE_EVENT, CommandRunner::removeEvent);
+        global(CommandType.GET_TOP5_ARTISTS, CommandRunner::getTop5Artists);
+    }
+
+    private CommandDispatcher() {
+    }
+
+    /**
+     * Runs a command.
+     *
+     * @param admin        the admin the command runs against
+     * @param commandInput the command input
+     * @return the result of the command, or null if there is no command with its name
+     */
+    public static CommandResult dispatch(final Admin admin, final CommandInput commandInput) {
+        admin.updateTimestamp(commandInput.getTimestamp());
+        return run(admin, commandInput);
+    }
+
+    /**
+     * Runs a user-local command from the actor of its user. The time of the application
+     * is not moved: the command only sees its timestamp, on the current thread, which
+     * is enough because its user's player catches up when the user is looked up.
+     *
+     * @param admin        the admin the command runs against
+     * @param commandInput the command input
+     * @return the result of the command
+     */
+    public static CommandResult dispatchUserLocal(final Admin admin,
+                                                  final CommandInput commandInput) {
+        admin.setLocalTimestamp(commandInput.getTimestamp());
+        try {
+            return run(admin, commandInput);
+        } finally {
+            admin.setLocalTimestamp(null);
+        }
+    }
+
+    private static CommandResult run(final Admin admin, final CommandInput commandInput) {
+        CommandType type = CommandType.fromName(commandInput.getCommand());
+        Route route = type != null ? ROUTES.get(type) : null;
+        if (route == null) {
+            return null;
+        }
+        if (route.global != null) {
+            return route.global.apply(admin, commandInput);
+        }
+
+        // looking the user up also brings its player to the current timestamp
+        User user = admin.getUser(commandInput.getUsername());
+        if (user == null && route.missing != null) {
+            return route.missing.apply(commandInput);
+        }
+        if (route.offline != null && !user.isOnline()) {
+            return route.offline.apply(commandInput,
+                    commandInput.getUsername() + " is offline.");
+        }
+        return route.handler.run(commandInput, user);
+    }
+
+    /**
+     * Registers a command that doesn't belong to a user, so no user is looked up.
+     */
+    private static void global(final CommandType type,
+                               final BiFunction<Admin, CommandInput, CommandResult> handler) {
+        ROUTES.put(type, new Route(handler, null, null, null));
+    }
+
+    /**
+     * Registers a command given by a user that is expected to exist.
+     */
+    private static void user(final CommandType type, final Handler handler) {
+        user(type, handler, null, null);
+    }
+
+    /**
+     * Registers a command given by a user that may not exist.
+     */
+    private static void existingUser(final CommandType type, final Handler handler) {
+        user(type, handler, CommandDispatcher::missingUser, null);
+    }
+
+    /**
+     * Registers a command given by a user.
+     *
+     * @param missing the result if the user doesn't exist, or null to skip the check
+     * @param offline the result, from the message, if the user is offline, or null to skip
+     *                the check
+     */
+    private static void user(final CommandType type, final Handler handler,
+                             final Function<CommandInput, CommandResult> missing,
+                             final BiFunction<CommandInput, String, CommandResult> offline) {
+        ROUTES.put(type, new Route(null, handler, missing, offline));
+    }
+
+    private static CommandResult missingUser(final CommandInput commandInput) {
+        return new MessageResult(commandInput,
+                "The username " + commandInput.getUsername() + " doesn't exist.");
+    }
+
+    /**
+     * The handler of a command.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        /**
+         * Runs the command.
+         *
+         * @param commandInput the command input
+         * @param user         the user who gave the command, or null if it doesn't exist
+         * @return the result
+         */
+        CommandResult run(CommandInput commandInput, User user);
+    }
+
+    private static final class Route {
+        // the handler of a command that doesn't belong to a user, or null
+        private final BiFunction<Admin, CommandInput, CommandResult> global;
+        private final Handler handler;
+        private final Function<CommandInput, CommandResult> missing;
+        private final BiFunction<CommandInput, String, CommandResult> offline;
+
+        Route(final BiFunction<Admin, CommandInput, CommandResult> global,
+              final Handler handler,
+              final Function<CommandInput, CommandResult> missing,
+              final BiFunction<CommandInput, String, CommandResult> offline) {
+            this.global = global;
+            this.handler = handler;
+            this.missing = missing;
+            this.offline = offline;
+        }
+    }
+}
@@ -10,10 +10,16 @@ import app.searchBar.Filters;
 import app.user.Artist;
 import app.user.Host;
 import app.user.User;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import fileio.input.CommandInput;
+import fileio.output.CollectionsResult;
+import fileio.output.CommandResult;
+import fileio.output.CommandResult.Envelope;
+import fileio.output.MessageResult;
+import fileio.output.NamesResult;
+import fileio.output.PlaylistsResult;
+import fileio.output.SearchResult;
+import fileio.output.StatsResult;
+import fileio.output.TextResult;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -22,418 +28,294 @@ import java.util.List;
  * The type Command runner.
  */
 public final class CommandRunner {
-    /**
-     * The Object mapper.
-     */
-    private static ObjectMapper objectMapper = new ObjectMapper();
-
     private CommandRunner() {
     }
 
     /**
-     * Search object node.
+     * Searches the library for the user.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message and the names of the results
      */
-    public static ObjectNode search(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-
-        if (user.isOnline()) {
-            Filters filters = new Filters(commandInput.getFilters());
-            String type = commandInput.getType();
+    public static CommandResult search(final CommandInput commandInput,
+                                       final User user) {
+        Filters filters = new Filters(commandInput.getFilters());
+        String type = commandInput.getType();
 
-            ArrayList<String> results = user.search(filters, type);
-            String message = "Search returned " + results.size() + " results";
-            objectNode.put("message", message);
-            objectNode.put("results", objectMapper.valueToTree(results));
-            return objectNode;
-        } else {
-            String message = user.getUsername() + " is offline.";
-            objectNode.put("message", message);
-            objectNode.put("results", objectMapper.createArrayNode());
-            return objectNode;
-        }
+        ArrayList<String> results = user.search(filters, type);
+        String message = "Search returned " + results.size() + " results";
+        return new SearchResult(commandInput, message, results);
     }
 
     /**
-     * Select object node.
+     * Selects one of the results of the last search.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode select(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult select(final CommandInput commandInput,
+                                       final User user) {
         String message = user.select(commandInput.getItemNumber());
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Load object node.
+     * Loads the selected source into the player.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode load(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult load(final CommandInput commandInput,
+                                     final User user) {
         String message = user.load();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Play pause object node.
+     * Pauses or resumes the player.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode playPause(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult playPause(final CommandInput commandInput,
+                                          final User user) {
         String message = user.playPause();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Repeat object node.
+     * Changes the repeat mode of the player.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode repeat(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult repeat(final CommandInput commandInput,
+                                       final User user) {
         String message = user.repeat();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Shuffle object node.
+     * Turns the shuffle of the player on or off.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode shuffle(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult shuffle(final CommandInput commandInput,
+                                        final User user) {
         Integer seed = commandInput.getSeed();
         String message = user.shuffle(seed);
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Forward object node.
+     * Skips forward in the loaded episode.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode forward(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult forward(final CommandInput commandInput,
+                                        final User user) {
         String message = user.forward();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Backward object node.
+     * Goes back in the loaded episode.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode backward(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult backward(final CommandInput commandInput,
+                                         final User user) {
         String message = user.backward();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Like object node.
+     * Likes or unlikes the current song.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode like(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        if (user != null && user.isOnline()) {
-            String message = user.like();
-            objectNode.put("message", message);
+    public static CommandResult like(final CommandInput commandInput,
+                                     final User user) {
+        String message = user.like();
 
-            return objectNode;
-        } else if (user != null && !user.isOnline()) {
-            String message = user.getUsername() + " is offline.";
-            objectNode.put("message", message);
-            return objectNode;
-        } else {
-            String errorMessage = "User not found for username: " + commandInput.getUsername();
-            ObjectNode errorNode = objectMapper.createObjectNode();
-            errorNode.put("error", errorMessage);
-            return errorNode;
-        }
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Next object node.
+     * Skips to the next track.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode next(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult next(final CommandInput commandInput,
+                                     final User user) {
         String message = user.next();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Prev object node.
+     * Goes back to the previous track.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode prev(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult prev(final CommandInput commandInput,
+                                     final User user) {
         String message = user.prev();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Create playlist object node.
+     * Creates a playlist.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode createPlaylist(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult createPlaylist(final CommandInput commandInput,
+                                               final User user) {
         String message = user.createPlaylist(commandInput.getPlaylistName(),
                 commandInput.getTimestamp());
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Add remove in playlist object node.
+     * Adds the current song to a playlist, or removes it.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode addRemoveInPlaylist(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult addRemoveInPlaylist(final CommandInput commandInput,
+                                                    final User user) {
         String message = user.addRemoveInPlaylist(commandInput.getPlaylistId());
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Switch visibility object node.
+     * Switches a playlist between public and private.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode switchVisibility(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult switchVisibility(final CommandInput commandInput,
+                                                 final User user) {
         String message = user.switchPlaylistVisibility(commandInput.getPlaylistId());
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Show playlists object node.
+     * Shows the playlists of the user.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the playlists
      */
-    public static ObjectNode showPlaylists(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult showPlaylists(final CommandInput commandInput,
+                                              final User user) {
         ArrayList<PlaylistOutput> playlists = user.showPlaylists();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(playlists));
-
-        return objectNode;
+        return new PlaylistsResult(commandInput, playlists);
     }
 
     /**
-     * Follow object node.
+     * Follows or unfollows the selected playlist.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode follow(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult follow(final CommandInput commandInput,
+                                       final User user) {
         String message = user.follow();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Status object node.
+     * Shows the status of the player.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the stats of the player
      */
-    public static ObjectNode status(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult status(final CommandInput commandInput,
+                                       final User user) {
         PlayerStats stats = user.getPlayerStats();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("stats", objectMapper.valueToTree(stats));
-
-        return objectNode;
+        return new StatsResult(commandInput, stats);
     }
 
     /**
-     * Show liked songs object node.
+     * Shows the songs the user likes.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the names of the songs
      */
-    public static ObjectNode showLikedSongs(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult showLikedSongs(final CommandInput commandInput,
+                                               final User user) {
         ArrayList<String> songs = user.showPreferredSongs();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(songs));
-
-        return objectNode;
+        return new NamesResult(commandInput, Envelope.COMMAND_USER_TIMESTAMP, songs);
     }
 
     /**
      * Gets preferred genre.
      *
      * @param commandInput the command input
+     * @param user         the user who gave the command
      * @return the preferred genre
      */
-    public static ObjectNode getPreferredGenre(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult getPreferredGenre(final CommandInput commandInput,
+                                                  final User user) {
         String preferredGenre = user.getPreferredGenre();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(preferredGenre));
-
-        return objectNode;
+        return new TextResult(commandInput, preferredGenre);
     }
 
 
     /**
      * Adds a user based on the provided command input.
      *
+     * @param admin        the admin
      * @param commandInput The input containing information about the user to be added.
-     * @return An {@code ObjectNode} containing information about the command execution result.
+     * @return A {@code CommandResult} containing information about the command execution result.
      */
-    public static ObjectNode addUser(final CommandInput commandInput) {
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        String message = Admin.addUser(commandInput.getUsername(), commandInput.getAge(),
+    public static CommandResult addUser(final Admin admin,
+                                        final CommandInput commandInput) {
+        String message = admin.addUser(commandInput.getUsername(), commandInput.getAge(),
                 commandInput.getCity(), false, commandInput.getType());
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
-
 
-        return objectNode;
+        return new MessageResult(commandInput, message);
 
     }
 
@@ -441,43 +323,26 @@ public final class CommandRunner {
      * Adds an album based on the provided command input.
      *
      * @param commandInput The input containing information about the album to be added.
-     * @return An {@code ObjectNode} containing information about the command execution result.
+     * @param user         The user who gave the command.
+     * @return A {@code CommandResult} containing information about the command execution result.
      */
-    public static ObjectNode addAlbum(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", commandInput.getUsername()
+    public static CommandResult addAlbum(final CommandInput commandInput,
+                                         final User user) {
+        return new MessageResult(commandInput, commandInput.getUsername()
                 + user.addAlbum(commandInput));
-
-        return objectNode;
     }
 
     /**
      * Adds a podcast based on the provided command input.
      *
      * @param commandInput The input containing information about the podcast to be added.
-     * @return An {@code ObjectNode} containing information about the command execution result.
+     * @param user         The user who gave the command.
+     * @return A {@code CommandResult} containing information about the command execution result.
      */
-    public static ObjectNode addPodcast(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-
-        if (user != null) {
-            objectNode.put("message", commandInput.getUsername()
-                    + user.addPodcast(commandInput));
-        } else {
-            objectNode.put("message", "The username "
-                    + commandInput.getUsername() + " doesn't exist.");
-        }
-        return objectNode;
+    public static CommandResult addPodcast(final CommandInput commandInput,
+                                           final User user) {
+        String message = commandInput.getUsername() + user.addPodcast(commandInput);
+        return new MessageResult(commandInput, message);
 
     }
 
@@ -485,288 +350,189 @@ public final class CommandRunner {
      * Removes an event based on the provided command input.
      *
      * @param commandInput The input containing information about the event to be removed.
-     * @return An {@code ObjectNode} containing information about the command execution result.
+     * @param user         The user who gave the command.
+     * @return A {@code CommandResult} containing information about the command execution result.
      */
-    public static ObjectNode removeEvent(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-
-        if (user != null) {
-            Artist artist = (Artist) user;
-            String message = artist.removeEvent(commandInput.getName());
-            objectNode.put("message", message);
-        } else {
-            objectNode.put("message", "The username "
-                    + commandInput.getUsername() + " doesn't exist.");
-        }
-        return objectNode;
+    public static CommandResult removeEvent(final CommandInput commandInput,
+                                            final User user) {
+        Artist artist = (Artist) user;
+        String message = artist.removeEvent(commandInput.getName());
+        return new MessageResult(commandInput, message);
     }
 
     /**
      * Gets all users.
      *
+     * @param admin        the admin
      * @param commandInput the command input
      * @return the all users
      */
-    public static ObjectNode getAllUsers(final CommandInput commandInput) {
-        List<String> users = Admin.getAllUsers();
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(users));
+    public static CommandResult getAllUsers(final Admin admin,
+                                            final CommandInput commandInput) {
+        List<String> users = admin.getAllUsers();
 
-        return objectNode;
+        return new NamesResult(commandInput, Envelope.COMMAND_TIMESTAMP, users);
     }
 
     /**
      * Deletes a user based on the provided command input.
      *
+     * @param admin        the admin
      * @param commandInput The input containing information about the user to be deleted.
-     * @return An {@code ObjectNode} containing information about the command execution result.
+     * @return A {@code CommandResult} containing information about the command execution result.
      */
-    public static ObjectNode deleteUser(final CommandInput commandInput) {
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        String message = Admin.deleteAllType(commandInput.getUsername());
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("message", message);
+    public static CommandResult deleteUser(final Admin admin,
+                                           final CommandInput commandInput) {
+        String message = admin.deleteAllType(commandInput.getUsername());
 
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
      * Changes the current page of the user based on the provided command input.
      *
      * @param commandInput The input containing information about the new page.
-     * @return An {@code ObjectNode} containing information about the command execution result.
-     */
-    public static ObjectNode changePage(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        if (user != null) {
-            if (user.isOnline()) {
-                objectNode.put("message", user.changePage(commandInput.getNextPage()));
-            } else {
-                objectNode.put("message", commandInput.getUsername() + " is offline.");
-            }
-        } else {
-            objectNode.put("message", "The username "
-                    + commandInput.getUsername() + " doesn't exist.");
-        }
-        return objectNode;
+     * @param user         The user who gave the command.
+     * @return A {@code CommandResult} containing information about the command execution result.
+     */
+    public static CommandResult changePage(final CommandInput commandInput,
+                                           final User user) {
+        String message = user.changePage(commandInput.getNextPage());
+
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Print current page object node.
+     * Prints the page the user is on.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the text of the page
      */
-    public static ObjectNode printCurrentPage(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult printCurrentPage(final CommandInput commandInput,
+                                                 final User user) {
+        String message = user.getCurrentPage().printPage();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        if (user.isOnline()) {
-            objectNode.put("message", user.getCurrentPage().printPage());
-        } else {
-            String message = user.getUsername() + " is offline.";
-            objectNode.put("message", message);
-        }
-        return objectNode;
+        return new MessageResult(commandInput, Envelope.USER_COMMAND_TIMESTAMP, message);
     }
 
     /**
-     * Show podcasts object node.
+     * Removes an announcement of a host.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode removeAnnouncement(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        if (user != null) {
-            String message = user.removeAnnouncement(commandInput.getName());
-            objectNode.put("message", message);
-        } else {
-            objectNode.put("message", "The username "
-                    + commandInput.getUsername() + " doesn't exist.");
-        }
-        return objectNode;
+    public static CommandResult removeAnnouncement(final CommandInput commandInput,
+                                                   final User user) {
+        String message = user.removeAnnouncement(commandInput.getName());
+        return new MessageResult(commandInput, message);
 
     }
 
     /**
-     * Show podcasts object node.
+     * Shows the podcasts of a host.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the podcasts with the names of their episodes
      */
-    public static ObjectNode showPodcasts(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult showPodcasts(final CommandInput commandInput,
+                                             final User user) {
+        Host host = (Host) user;
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        if (user != null) {
-            Host host = (Host) user;
-
-            ArrayNode resultArray = objectMapper.createArrayNode();
-            List<Podcast> podcasts = host.getPodcasts();
-            for (Podcast podcast : podcasts) {
-                ObjectNode podcastNode = objectMapper.createObjectNode();
-                podcastNode.put("name", podcast.getName());
-
-                ArrayNode episodesArray = objectMapper.createArrayNode();
-                for (Episode episode : podcast.getEpisodes()) {
-                    episodesArray.add(episode.getName());
-                }
-                podcastNode.put("episodes", episodesArray);
-                resultArray.add(podcastNode);
+        CollectionsResult result = new CollectionsResult(commandInput, "episodes");
+        List<Podcast> podcasts = host.getPodcasts();
+        for (Podcast podcast : podcasts) {
+            List<String> episodes = new ArrayList<>();
+            for (Episode episode : podcast.getEpisodes()) {
+                episodes.add(episode.getName());
             }
-            objectNode.set("result", resultArray);
-        } else {
-            objectNode.put("message", "The username "
-                    + commandInput.getUsername() + " doesn't exist.");
+            result.add(podcast.getName(), episodes);
         }
-        return objectNode;
+        return result;
     }
 
     /**
-     * Show albums object node.
+     * Shows the albums of an artist.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the albums with the names of their songs
      */
-    public static ObjectNode showAlbums(final CommandInput commandInput) {
-        Artist artist = (Artist) Admin.getUser(commandInput.getUsername());
+    public static CommandResult showAlbums(final CommandInput commandInput,
+                                           final User user) {
+        Artist artist = (Artist) user;
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        ArrayNode resultArray = objectMapper.createArrayNode();
+        CollectionsResult result = new CollectionsResult(commandInput, "songs");
         List<Album> albums = artist.getAlbums();
 
         for (Album album : albums) {
-            ObjectNode albumNode = objectMapper.createObjectNode();
-            albumNode.put("name", album.getName());
-
-            ArrayNode songsArray = objectMapper.createArrayNode();
+            List<String> songs = new ArrayList<>();
             for (Song song : album.getAllSongs()) {
-                songsArray.add(song.getName());
+                songs.add(song.getName());
             }
-            albumNode.put("songs", songsArray);
-
-            resultArray.add(albumNode);
+            result.add(album.getName(), songs);
         }
 
-        objectNode.set("result", resultArray);
-
-        return objectNode;
+        return result;
     }
 
     /**
      * Removes an album from the artist's collection based on the provided command input.
      *
      * @param commandInput The input containing information about the album to be removed.
-     * @return An {@code ObjectNode} containing information about the command execution result.
-     */
-    public static ObjectNode removeAlbum(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        if (user != null) {
-            String message = user.removeAlbum(commandInput.getName());
-            objectNode.put("message", message);
-        } else {
-            objectNode.put("message", "The username "
-                    + commandInput.getUsername() + " doesn't exist.");
-        }
-        return objectNode;
+     * @param user         The user who gave the command.
+     * @return A {@code CommandResult} containing information about the command execution result.
+     */
+    public static CommandResult removeAlbum(final CommandInput commandInput,
+                                            final User user) {
+        String message = user.removeAlbum(commandInput.getName());
+        return new MessageResult(commandInput, message);
     }
 
     /**
      * Gets top 5 artists.
      *
+     * @param admin        the admin
      * @param commandInput the command input
      * @return the top 5 artists
      */
-    public static ObjectNode getTop5Artists(final CommandInput commandInput) {
-        List<String> artists = Admin.getTop5Artists();
+    public static CommandResult getTop5Artists(final Admin admin,
+                                               final CommandInput commandInput) {
+        List<String> artists = admin.getTop5Artists();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(artists));
-
-        return objectNode;
+        return new NamesResult(commandInput, Envelope.COMMAND_TIMESTAMP, artists);
     }
 
 
     /**
-     * Add event object node.
+     * Adds an event of an artist.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode addEvent(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-
-        if (user != null) {
-            String message = user.addEvent(commandInput);
-            objectNode.put("message", message);
-        } else {
-            objectNode.put("message", "The username "
-                    + commandInput.getUsername() + " doesn't exist.");
-        }
+    public static CommandResult addEvent(final CommandInput commandInput,
+                                         final User user) {
+        String message = user.addEvent(commandInput);
 
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
 
     /**
-     * Add announcement object node.
+     * Adds an announcement of a host.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
-    public static ObjectNode addAnnouncement(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
+    public static CommandResult addAnnouncement(final CommandInput commandInput,
+                                                final User user) {
         String message = user.addAnnouncement(commandInput);
-        objectNode.put("message", message);
 
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
 
@@ -774,147 +540,104 @@ public final class CommandRunner {
      * Removes a podcast from the host's collection based on the provided command input.
      *
      * @param commandInput The input containing information about the podcast to be removed.
-     * @return An {@code ObjectNode} containing information about the command execution result.
-     */
-    public static ObjectNode removePodcast(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        if (user != null) {
-            String message = user.removePodcast(commandInput.getName());
-            objectNode.put("message", message);
-        } else {
-            objectNode.put("message", "The username "
-                    + commandInput.getUsername() + " doesn't exist.");
-        }
-        return objectNode;
+     * @param user         The user who gave the command.
+     * @return A {@code CommandResult} containing information about the command execution result.
+     */
+    public static CommandResult removePodcast(final CommandInput commandInput,
+                                              final User user) {
+        String message = user.removePodcast(commandInput.getName());
+        return new MessageResult(commandInput, message);
     }
 
     /**
      * Gets top 5 albums.
      *
+     * @param admin        the admin
      * @param commandInput the command input
      * @return the top 5 albums
      */
-    public static ObjectNode getTop5Albums(final CommandInput commandInput) {
-        List<String> albums = Admin.getTop5Albums();
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(albums));
+    public static CommandResult getTop5Albums(final Admin admin,
+                                              final CommandInput commandInput) {
+        List<String> albums = admin.getTop5Albums();
 
-        return objectNode;
+        return new NamesResult(commandInput, Envelope.COMMAND_TIMESTAMP, albums);
     }
 
     /**
      * Add merch.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
 
-    public static ObjectNode addMerch(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
+    public static CommandResult addMerch(final CommandInput commandInput,
+                                         final User user) {
+        String message = user.addMerch(commandInput);
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-
-        if (user != null) {
-            String message = user.addMerch(commandInput);
-            objectNode.put("message", message);
-        } else {
-            objectNode.put("message", "The username "
-                    + commandInput.getUsername() + " doesn't exist.");
-        }
-
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
-     * Switch connection status object node.
+     * Switches the user between online and offline.
      *
      * @param commandInput the command input
-     * @return the object node
+     * @param user         the user who gave the command
+     * @return the message of the command
      */
 
-    public static ObjectNode switchConnectionStatus(final CommandInput commandInput) {
-        User user = Admin.getUser(commandInput.getUsername());
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("user", commandInput.getUsername());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        if (user != null) {
-            if (user.getType().equals("regular")) {
-                user.switchConnectionStatus();
-                objectNode.put("message", commandInput.getUsername()
-                        + " has changed status successfully.");
-            } else {
-                objectNode.put("message", commandInput.getUsername()
-                        + " is not a normal user.");
-            }
+    public static CommandResult switchConnectionStatus(final CommandInput commandInput,
+                                                       final User user) {
+        String message;
+        if (user.getType().equals("regular")) {
+            user.switchConnectionStatus();
+            message = commandInput.getUsername() + " has changed status successfully.";
         } else {
-            objectNode.put("message", "The username "
-                    + commandInput.getUsername() + " doesn't exist.");
+            message = commandInput.getUsername() + " is not a normal user.";
         }
-        return objectNode;
+        return new MessageResult(commandInput, message);
     }
 
     /**
      * Gets online users.
      *
+     * @param admin        the admin
      * @param commandInput the command input
      * @return the online users
      */
-    public static ObjectNode getOnlineUsers(final CommandInput commandInput) {
-        List<String> onlineUsers = Admin.getOnlineUsers();
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(onlineUsers));
+    public static CommandResult getOnlineUsers(final Admin admin,
+                                               final CommandInput commandInput) {
+        List<String> onlineUsers = admin.getOnlineUsers();
 
-        return objectNode;
+        return new NamesResult(commandInput, Envelope.COMMAND_TIMESTAMP, onlineUsers);
     }
 
 
     /**
      * Gets top 5 songs.
      *
+     * @param admin        the admin
      * @param commandInput the command input
      * @return the top 5 songs
      */
-    public static ObjectNode getTop5Songs(final CommandInput commandInput) {
-        List<String> songs = Admin.getTop5Songs();
+    public static CommandResult getTop5Songs(final Admin admin,
+                                             final CommandInput commandInput) {
+        List<String> songs = admin.getTop5Songs();
 
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(songs));
-
-        return objectNode;
+        return new NamesResult(commandInput, Envelope.COMMAND_TIMESTAMP, songs);
     }
 
     /**
      * Gets top 5 playlists.
      *
+     * @param admin        the admin
      * @param commandInput the command input
      * @return the top 5 playlists
      */
-    public static ObjectNode getTop5Playlists(final CommandInput commandInput) {
-        List<String> playlists = Admin.getTop5Playlists();
-
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        objectNode.put("command", commandInput.getCommand());
-        objectNode.put("timestamp", commandInput.getTimestamp());
-        objectNode.put("result", objectMapper.valueToTree(playlists));
+    public static CommandResult getTop5Playlists(final Admin admin,
+                                                 final CommandInput commandInput) {
+        List<String> playlists = admin.getTop5Playlists();
 
-        return objectNode;
+        return new NamesResult(commandInput, Envelope.COMMAND_TIMESTAMP, playlists);
     }
 }
@@ -0,0 +1,102 @@
+package app;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The commands of the input files, by the name they have in the JSON. A command is
+ * user-local when it only changes the player and the search bar of the user who gives
+ * it, and reads nothing that another user-local command changes, so the user-local
+ * commands of different users can run at once.
+ */
+public enum CommandType {
+    SEARCH("search", true),
+    SELECT("select", true),
+    LOAD("load"),
+    PLAY_PAUSE("playPause", true),
+    REPEAT("repeat", true),
+    SHUFFLE("shuffle", true),
+    FORWARD("forward", true),
+    BACKWARD("backward", true),
+    LIKE("like"),
+    NEXT("next", true),
+    PREV("prev", true),
+    CREATE_PLAYLIST("createPlaylist"),
+    ADD_REMOVE_IN_PLAYLIST("addRemoveInPlaylist"),
+    SWITCH_VISIBILITY("switchVisibility"),
+    SHOW_PLAYLISTS("showPlaylists"),
+    FOLLOW("follow"),
+    STATUS("status", true),
+    SHOW_PREFERRED_SONGS("showPreferredSongs"),
+    GET_PREFERRED_GENRE("getPreferredGenre"),
+    GET_TOP5_SONGS("getTop5Songs"),
+    GET_TOP5_PLAYLISTS("getTop5Playlists"),
+    SWITCH_CONNECTION_STATUS("switchConnectionStatus"),
+    GET_ONLINE_USERS("getOnlineUsers"),
+    ADD_USER("addUser"),
+    ADD_ALBUM("addAlbum"),
+    SHOW_ALBUMS("showAlbums"),
+    ADD_EVENT("addEvent"),
+    PRINT_CURRENT_PAGE("printCurrentPage"),
+    ADD_MERCH("addMerch"),
+    GET_ALL_USERS("getAllUsers"),
+    DELETE_USER("deleteUser"),
+    ADD_PODCAST("addPodcast"),
+    ADD_ANNOUNCEMENT("addAnnouncement"),
+    REMOVE_ANNOUNCEMENT("removeAnnouncement"),
+    SHOW_PODCASTS("showPodcasts"),
+    REMOVE_ALBUM("removeAlbum"),
+    CHANGE_PAGE("changePage"),
+    REMOVE_PODCAST("removePodcast"),
+    GET_TOP5_ALBUMS("getTop5Albums"),
+    REMOVE_EVENT("removeEvent"),
+    GET_TOP5_ARTISTS("getTop5Artists");
+
+    private static final Map<String, CommandType> BY_NAME = new HashMap<>();
+
+    static {
+        for (CommandType type : values()) {
+            BY_NAME.put(type.commandName, type);
+        }
+    }
+
+    private final String commandName;
+    private final boolean userLocal;
+
+    CommandType(final String commandName) {
+        this(commandName, false);
+    }
+
+    CommandType(final String commandName, final boolean userLocal) {
+        this.commandName = commandName;
+        this.userLocal = userLocal;
+    }
+
+    /**
+     * Gets the name of the command in the input files.
+     *
+     * @return the name
+     */
+    public String getCommandName() {
+        return commandName;
+    }
+
+    /**
+     * Checks if the command only touches the state of the user who gives it.
+     *
+     * @return whether the command is user-local
+     */
+    public boolean isUserLocal() {
+        return userLocal;
+    }
+
+    /**
+     * Finds the command with the given name.
+     *
+     * @param commandName the name of the command in the input files
+     * @return the command, or null if there is no command with that name
+     */
+    public static CommandType fromName(final String commandName) {
+        return BY_NAME.get(commandName);
+    }
+}
@@ -0,0 +1,150 @@
+package app;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Entries grouped in buckets by a count, like the likes of a song or the followers
+ * of a playlist. Inside a bucket the entries are kept by the tie-break, if any, and
+ * then by their order key, so the top entries come out in the order a stable sort
+ * would give. Changing the count of an entry only moves it between two buckets.
+ *
+ * @param <T> the type of the entries
+ */
+public final class Leaderboard<T> {
+    // count -> entries with that count
+    private final NavigableMap<Integer, NavigableSet<Rank<T>>> buckets = new TreeMap<>();
+    private final Map<T, Rank<T>> ranks = new HashMap<>();
+    private final Comparator<Rank<T>> order;
+
+    /**
+     * Instantiates a new Leaderboard that breaks ties by the order key.
+     */
+    public Leaderboard() {
+        this((first, second) -> 0);
+    }
+
+    /**
+     * Instantiates a new Leaderboard that breaks ties by the given comparator,
+     * and then by the order key.
+     *
+     * @param ties the tie-break
+     */
+    public Leaderboard(final Comparator<? super T> ties) {
+        Comparator<Rank<T>> byTies = (first, second) -> ties.compare(first.entry, second.entry);
+        this.order = byTies.thenComparingLong(rank -> rank.order);
+    }
+
+    /**
+     * Adds an entry.
+     *
+     * @param entry the entry
+     * @param order the position of the entry among the ones with the same count
+     * @param count the count of the entry
+     */
+    public void add(final T entry, final long order, final int count) {
+        if (ranks.containsKey(entry)) {
+            return;
+        }
+        Rank<T> rank = new Rank<>(entry, order, count);
+        ranks.put(entry, rank);
+        link(rank);
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param entry the entry
+     */
+    public void remove(final T entry) {
+        Rank<T> rank = ranks.remove(entry);
+        if (rank != null) {
+            unlink(rank);
+        }
+    }
+
+    /**
+     * Moves an entry to the bucket of its new count.
+     * Entries that were never added are ignored.
+     *
+     * @param entry the entry
+     * @param count the new count of the entry
+     */
+    public void update(final T entry, final int count) {
+        Rank<T> rank = ranks.get(entry);
+        if (rank == null || rank.count == count) {
+            return;
+        }
+        unlink(rank);
+        rank.count = count;
+        link(rank);
+    }
+
+    /**
+     * Checks if an entry was added.
+     *
+     * @param entry the entry
+     * @return whether the entry is ranked
+     */
+    public boolean contains(final T entry) {
+        return ranks.containsKey(entry);
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        buckets.clear();
+        ranks.clear();
+    }
+
+    /**
+     * Gets the entries with the highest counts.
+     *
+     * @param limit the maximum number of entries
+     * @return the entries, from the highest count
+     */
+    public List<T> top(final int limit) {
+        List<T> result = new ArrayList<>();
+        for (NavigableSet<Rank<T>> bucket : buckets.descendingMap().values()) {
+            for (Rank<T> rank : bucket) {
+                if (result.size() >= limit) {
+                    return result;
+                }
+                result.add(rank.entry);
+            }
+        }
+        return result;
+    }
+
+    private void link(final Rank<T> rank) {
+        buckets.computeIfAbsent(rank.count, key -> new TreeSet<>(order)).add(rank);
+    }
+
+    private void unlink(final Rank<T> rank) {
+        NavigableSet<Rank<T>> bucket = buckets.get(rank.count);
+        bucket.remove(rank);
+        if (bucket.isEmpty()) {
+            buckets.remove(rank.count);
+        }
+    }
+
+    private static final class Rank<T> {
+        private final T entry;
+        private final long order;
+        private int count;
+
+        Rank(final T entry, final long order, final int count) {
+            this.entry = entry;
+            this.order = order;
+            this.count = count;
+        }
+    }
+}
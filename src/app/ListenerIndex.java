@@ -0,0 +1,184 @@
+package app;
+
+import app.audio.Collections.AudioCollection;
+import app.audio.Collections.Podcast;
+import app.audio.Files.AudioFile;
+import app.audio.Files.Song;
+import app.player.Player;
+import app.player.PlayerSource;
+import app.user.User;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse index of what the players of the users are playing. It is refreshed every
+ * time a player is registered in the {@link PlaybackScheduler}, which happens after
+ * every change of a player, so the deletion checks don't have to walk every user.
+ */
+public final class ListenerIndex {
+    // what every user was playing when its player was last indexed
+    private final Map<User, Listening> listening = new HashMap<>();
+    // song artist -> users playing a song of the artist
+    private final Map<String, Set<User>> artists = new HashMap<>();
+    // file name -> users playing a file with that name
+    private final Map<String, Set<User>> files = new HashMap<>();
+    // podcast owner -> users playing a podcast of the owner
+    private final Map<String, Set<User>> podcastOwners = new HashMap<>();
+    // collection name -> users with a loaded collection with that name, even if paused
+    private final Map<String, Set<User>> collections = new HashMap<>();
+
+    /**
+     * Instantiates a new, empty Listener index.
+     */
+    public ListenerIndex() {
+    }
+
+    /**
+     * Indexes what the user's player is playing now.
+     *
+     * @param user the user
+     */
+    public void update(final User user) {
+        Listening current = new Listening(user.getPlayer());
+        Listening previous = listening.get(user);
+        if (previous != null) {
+            if (current.isSameAs(previous)) {
+                return;
+            }
+            unlink(user, previous);
+        }
+        listening.put(user, current);
+        link(user, current);
+    }
+
+    /**
+     * Drops the user from the index.
+     *
+     * @param user the user
+     */
+    public void remove(final User user) {
+        Listening previous = listening.remove(user);
+        if (previous != null) {
+            unlink(user, previous);
+        }
+    }
+
+    /**
+     * Gets the users playing a song of the artist.
+     *
+     * @param artist the artist name
+     * @return the users
+     */
+    public Set<User> playingArtist(final String artist) {
+        return artists.getOrDefault(artist, Collections.emptySet());
+    }
+
+    /**
+     * Gets the users playing a file with the given name.
+     *
+     * @param name the file name
+     * @return the users
+     */
+    public Set<User> playingFile(final String name) {
+        return files.getOrDefault(name, Collections.emptySet());
+    }
+
+    /**
+     * Checks if any user is playing something.
+     *
+     * @return whether a player is running
+     */
+    public boolean isAnyPlaying() {
+        return !files.isEmpty();
+    }
+
+    /**
+     * Gets the users playing a podcast of the owner.
+     *
+     * @param owner the owner
+     * @return the users
+     */
+    public Set<User> playingPodcastOf(final String owner) {
+        return podcastOwners.getOrDefault(owner, Collections.emptySet());
+    }
+
+    /**
+     * Checks if any user has loaded a collection with the given name.
+     *
+     * @param name the collection name
+     * @return whether the collection is loaded
+     */
+    public boolean isLoaded(final String name) {
+        return collections.containsKey(name);
+    }
+
+    private void link(final User user, final Listening current) {
+        if (current.collection != null) {
+            collections.computeIfAbsent(current.collection.getName(),
+                    name -> new LinkedHashSet<>()).add(user);
+        }
+        if (current.file == null || current.paused) {
+            return;
+        }
+
+        files.computeIfAbsent(current.file.getName(), name -> new LinkedHashSet<>()).add(user);
+        if (current.file.getClass().equals(Song.class)) {
+            artists.computeIfAbsent(((Song) current.file).getArtist(),
+                    name -> new LinkedHashSet<>()).add(user);
+        } else if (current.collection != null
+                && current.collection.getClass().equals(Podcast.class)) {
+            podcastOwners.computeIfAbsent(current.collection.getOwner(),
+                    name -> new LinkedHashSet<>()).add(user);
+        }
+    }
+
+    private void unlink(final User user, final Listening previous) {
+        if (previous.collection != null) {
+            drop(collections, previous.collection.getName(), user);
+        }
+        if (previous.file == null || previous.paused) {
+            return;
+        }
+
+        drop(files, previous.file.getName(), user);
+        if (previous.file.getClass().equals(Song.class)) {
+            drop(artists, ((Song) previous.file).getArtist(), user);
+        } else if (previous.collection != null
+                && previous.collection.getClass().equals(Podcast.class)) {
+            drop(podcastOwners, previous.collection.getOwner(), user);
+        }
+    }
+
+    private static void drop(final Map<String, Set<User>> index, final String key,
+                             final User user) {
+        Set<User> users = index.get(key);
+        if (users != null) {
+            users.remove(user);
+            if (users.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static final class Listening {
+        private final AudioFile file;
+        private final AudioCollection collection;
+        private final boolean paused;
+
+        Listening(final Player player) {
+            PlayerSource source = player.getSource();
+            this.file = source != null ? source.getAudioFile() : null;
+            this.collection = source != null ? source.getAudioCollection() : null;
+            this.paused = player.getPaused();
+        }
+
+        boolean isSameAs(final Listening other) {
+            return file == other.file && collection == other.collection
+                    && paused == other.paused;
+        }
+    }
+}
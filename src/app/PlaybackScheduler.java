@@ -0,0 +1,103 @@
+package app;
+
+import app.player.Player;
+import app.user.User;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the moments at which the players of online users reach the end of their
+ * current track. Advancing the time only wakes up the players whose track ends
+ * inside the elapsed window; every other player is brought up to date when its
+ * user is looked up.
+ * The user-local commands register boundaries from the user actors, so the
+ * methods are synchronized.
+ */
+public final class PlaybackScheduler {
+    private static final int NONE = -1;
+
+    private final PriorityQueue<Boundary> boundaries = new PriorityQueue<>(
+            Comparator.comparingInt(Boundary::getTimestamp));
+    private final ListenerIndex listenerIndex;
+
+    /**
+     * Instantiates a new Playback scheduler.
+     *
+     * @param listenerIndex the index refreshed every time a player is registered
+     */
+    public PlaybackScheduler(final ListenerIndex listenerIndex) {
+        this.listenerIndex = listenerIndex;
+    }
+
+    /**
+     * Registers the next track boundary of the user's player, and indexes what it plays.
+     * Paused players, empty players and offline users don't have a boundary.
+     *
+     * @param user the user
+     */
+    public synchronized void track(final User user) {
+        listenerIndex.update(user);
+
+        Player player = user.getPlayer();
+        int trackEnd = user.isOnline() ? player.getTrackEnd() : NONE;
+
+        if (trackEnd == player.getScheduledEnd()) {
+            return;
+        }
+
+        player.setScheduledEnd(trackEnd);
+        if (trackEnd != NONE) {
+            boundaries.add(new Boundary(trackEnd, user));
+        }
+    }
+
+    /**
+     * Drops the pending boundary of the user, if any, and the user from the listener index.
+     *
+     * @param user the user
+     */
+    public synchronized void cancel(final User user) {
+        listenerIndex.remove(user);
+        user.getPlayer().setScheduledEnd(NONE);
+    }
+
+    /**
+     * Brings up to date every player whose track ends before or at the given timestamp.
+     *
+     * @param timestamp the new timestamp
+     */
+    public synchronized void advanceTo(final int timestamp) {
+        while (!boundaries.isEmpty() && boundaries.peek().getTimestamp() <= timestamp) {
+            Boundary boundary = boundaries.poll();
+            User user = boundary.getUser();
+
+            // the player changed since this boundary was registered
+            if (user.getPlayer().getScheduledEnd() != boundary.getTimestamp()) {
+                continue;
+            }
+
+            user.getPlayer().setScheduledEnd(NONE);
+            user.updatePlayer();
+            track(user);
+        }
+    }
+
+    private static final class Boundary {
+        private final int timestamp;
+        private final User user;
+
+        Boundary(final int timestamp, final User user) {
+            this.timestamp = timestamp;
+            this.user = user;
+        }
+
+        int getTimestamp() {
+            return timestamp;
+        }
+
+        User getUser() {
+            return user;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package app;
+
+import fileio.input.CommandInput;
+import fileio.output.CommandResult;
+import fileio.output.OutputWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the commands with one {@link UserActor} per user session. A user-local command
+ * is sent as a message to the actor of its user and the coordinator moves on at once,
+ * so the sessions of different users run at the same time. A global command, like the
+ * top 5 stats or the deletion of a user, goes through the coordinator: it waits for
+ * every message sent so far, and then runs alone, like every command did before.
+ * The results are written in the order of the commands.
+ */
+public final class SessionCoordinator implements Closeable {
+    private final Admin admin;
+    private final OutputWriter output;
+    private final ExecutorService pool;
+    private final Map<String, UserActor> actors = new HashMap<>();
+    // the commands whose results are not written yet, in order
+    private final Deque<Pending> pending = new ArrayDeque<>();
+    private Integer lastLocalTimestamp;
+
+    /**
+     * Instantiates a new Session coordinator.
+     *
+     * @param admin   the admin the commands run against
+     * @param output  where the results are written
+     * @param threads the number of threads the actors take turns on
+     */
+    public SessionCoordinator(final Admin admin, final OutputWriter output,
+                              final int threads) {
+        this.admin = admin;
+        this.output = output;
+        this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "session");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a command: a user-local one is sent to the actor of its user, a global one
+     * runs once the actors are done with everything sent before it.
+     *
+     * @param command the command
+     * @throws IOException in case of exceptions to writing
+     */
+    public void submit(final CommandInput command) throws IOException {
+        CommandType type = CommandType.fromName(command.getCommand());
+        if (type != null && type.isUserLocal()) {
+            Pending local = new Pending(command);
+            pending.add(local);
+            lastLocalTimestamp = command.getTimestamp();
+            actors.computeIfAbsent(command.getUsername(), user -> new UserActor(pool))
+                    .send(local::run);
+            writeCompleted();
+            return;
+        }
+
+        awaitActors();
+        write(command, CommandDispatcher.dispatch(admin, command));
+    }
+
+    /**
+     * Waits for every message sent to the actors and writes the results.
+     *
+     * @throws IOException in case of exceptions to writing
+     */
+    private void awaitActors() throws IOException {
+        while (!pending.isEmpty()) {
+            Pending local = pending.poll();
+            write(local.command, join(local.result));
+        }
+
+        // the players are up to date, the time of the application catches up with them
+        if (lastLocalTimestamp != null) {
+            admin.updateTimestamp(lastLocalTimestamp);
+            lastLocalTimestamp = null;
+        }
+    }
+
+    /**
+     * Runs the commands left in the mailboxes and stops the threads.
+     *
+     * @throws IOException in case of exceptions to writing
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            awaitActors();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void writeCompleted() throws IOException {
+        while (!pending.isEmpty() && pending.peek().result.isDone()) {
+            Pending local = pending.poll();
+            write(local.command, join(local.result));
+        }
+    }
+
+    private void write(final CommandInput command, final CommandResult result)
+            throws IOException {
+        if (result == null) {
+            System.out.println("Invalid command " + command.getCommand());
+            return;
+        }
+        output.write(result);
+    }
+
+    private static CommandResult join(final CompletableFuture<CommandResult> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A user-local command and its result, once its actor ran it.
+     */
+    private final class Pending {
+        private final CommandInput command;
+        private final CompletableFuture<CommandResult> result = new CompletableFuture<>();
+
+        Pending(final CommandInput command) {
+            this.command = command;
+        }
+
+        void run() {
+            try {
+                result.complete(CommandDispatcher.dispatchUserLocal(admin, command));
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
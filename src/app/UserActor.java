@@ -0,0 +1,56 @@
+package app;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The mailbox of one user session. The messages sent to it run one at a time, in the
+ * order they were sent, so the player and the search bar of the user are only touched
+ * by one thread at a time and need no lock. The actor holds no thread: when it gets
+ * mail it asks the executor for a turn and gives the thread back once the mailbox is
+ * empty, so idle sessions cost only their queue.
+ */
+public final class UserActor {
+    private final Executor executor;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    /**
+     * Instantiates a new User actor.
+     *
+     * @param executor the executor that runs the turns of the actor
+     */
+    public UserActor(final Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sends a message to the actor.
+     *
+     * @param message the message
+     */
+    public void send(final Runnable message) {
+        mailbox.add(message);
+        schedule();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        Runnable message;
+        while ((message = mailbox.poll()) != null) {
+            message.run();
+        }
+        scheduled.set(false);
+        // mail sent after the last poll, but before the turn was given back
+        if (!mailbox.isEmpty()) {
+            schedule();
+        }
+    }
+}
@@ -37,6 +37,16 @@ public abstract class AudioCollection extends LibraryEntry {
      */
     public abstract AudioFile getTrackByIndex(int index);
 
+    /**
+     * Gets the revision of the track list. It changes every time tracks are added
+     * or removed, so values derived from the track list can be cached against it.
+     *
+     * @return the revision
+     */
+    public int getRevision() {
+        return 0;
+    }
+
     /**
      * @param user the user
      * @return if the user is the owner
@@ -13,10 +13,13 @@ import java.util.ArrayList;
  */
 @Getter @Setter
 public final class Playlist extends AudioCollection {
+    private static final int RADIX = 10;
+
     private final ArrayList<Song> songs;
     private Enums.Visibility visibility;
     private Integer followers;
     private int timestamp;
+    private int revision;
 
     /**
      * Instantiates a new Playlist.
@@ -60,6 +63,7 @@ public final class Playlist extends AudioCollection {
      */
     public void addSong(final Song song) {
         songs.add(song);
+        revision++;
     }
 
     /**
@@ -68,7 +72,9 @@ public final class Playlist extends AudioCollection {
      * @param song the song
      */
     public void removeSong(final Song song) {
-        songs.remove(song);
+        if (songs.remove(song)) {
+            revision++;
+        }
     }
 
     /**
@@ -78,6 +84,7 @@ public final class Playlist extends AudioCollection {
      */
     public void removeSong(final int index) {
         songs.remove(index);
+        revision++;
     }
 
     /**
@@ -129,9 +136,9 @@ public final class Playlist extends AudioCollection {
 
     private static boolean filterByFollowersCount(final int count, final String query) {
         if (query.startsWith("<")) {
-            return count < Integer.parseInt(query.substring(1));
+            return count < Integer.parseInt(query, 1, query.length(), RADIX);
         } else if (query.startsWith(">")) {
-            return count > Integer.parseInt(query.substring(1));
+            return count > Integer.parseInt(query, 1, query.length(), RADIX);
         } else {
             return count == Integer.parseInt(query);
         }
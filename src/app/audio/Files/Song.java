@@ -3,13 +3,17 @@ package app.audio.Files;
 import lombok.Getter;
 
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * The type Song.
  */
 @Getter
 public final class Song extends AudioFile {
+    private static final int RADIX = 10;
+
     private final String album;
     private final ArrayList<String> tags;
     private final String lyrics;
@@ -18,6 +22,13 @@ public final class Song extends AudioFile {
     private final String artist;
     private Integer likes;
 
+    // lower case forms of the filtered fields, built once so that filtering allocates nothing
+    private final String foldedAlbum;
+    private final Set<String> foldedTags;
+    private final String foldedLyrics;
+    private final String foldedGenre;
+    private final String foldedArtist;
+
     /**
      * Instantiates a new Song.
      *
@@ -42,22 +53,31 @@ public final class Song extends AudioFile {
         this.releaseYear = releaseYear;
         this.artist = artist;
         this.likes = 0;
+
+        this.foldedAlbum = fold(album);
+        this.foldedLyrics = fold(lyrics);
+        this.foldedGenre = fold(genre);
+        this.foldedArtist = fold(artist);
+        Set<String> folded = new HashSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tag != null) {
+                    folded.add(fold(tag).intern());
+                }
+            }
+        }
+        this.foldedTags = Collections.unmodifiableSet(folded);
     }
 
     @Override
     public boolean matchesAlbum(final String albumName) {
-        return this.getAlbum().equalsIgnoreCase(albumName);
+        return albumName.equals(foldedAlbum);
     }
 
     @Override
     public boolean matchesTags(final ArrayList<String> tagsList) {
-        List<String> songTags = new ArrayList<>();
-        for (String tag : this.getTags()) {
-            songTags.add(tag.toLowerCase());
-        }
-
         for (String tag : tagsList) {
-            if (!songTags.contains(tag.toLowerCase())) {
+            if (!foldedTags.contains(tag)) {
                 return false;
             }
         }
@@ -66,17 +86,17 @@ public final class Song extends AudioFile {
 
     @Override
     public boolean matchesLyrics(final String lyricFilter) {
-        return this.getLyrics().toLowerCase().contains(lyricFilter.toLowerCase());
+        return foldedLyrics.contains(lyricFilter);
     }
 
     @Override
     public boolean matchesGenre(final String genreFilter) {
-        return this.getGenre().equalsIgnoreCase(genreFilter);
+        return genreFilter.equals(foldedGenre);
     }
 
     @Override
     public boolean matchesArtist(final String artistFilter) {
-        return this.getArtist().equalsIgnoreCase(artistFilter);
+        return artistFilter.equals(foldedArtist);
     }
 
     @Override
@@ -86,9 +106,9 @@ public final class Song extends AudioFile {
 
     private static boolean filterByYear(final int year, final String query) {
         if (query.startsWith("<")) {
-            return year < Integer.parseInt(query.substring(1));
+            return year < Integer.parseInt(query, 1, query.length(), RADIX);
         } else if (query.startsWith(">")) {
-            return year > Integer.parseInt(query.substring(1));
+            return year > Integer.parseInt(query, 1, query.length(), RADIX);
         } else {
             return year == Integer.parseInt(query);
         }
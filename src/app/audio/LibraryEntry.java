@@ -6,6 +6,12 @@ import java.util.ArrayList;
 
 /**
  * The type Library entry.
+ *
+ * <p>The name, album, tags, lyrics, genre and artist filters ignore case. The entries
+ * fold their own values once, when they are built, and the matches methods of those
+ * filters don't fold their argument: callers must pass it already folded with
+ * {@link #fold(String)}, as {@code FilterUtils.pipeline} and {@code SongIndex} do.
+ * A filter that still has upper case letters matches nothing.
  */
 @Getter
 public abstract class LibraryEntry {
@@ -23,6 +29,9 @@ public abstract class LibraryEntry {
 
     private final String name;
 
+    // the name in lower case, so the name filter doesn't fold it for every search
+    private final String foldedName;
+
     /**
      * Instantiates a new Library entry.
      *
@@ -30,16 +39,27 @@ public abstract class LibraryEntry {
      */
     public LibraryEntry(final String name) {
         this.name = name;
+        this.foldedName = fold(name);
+    }
+
+    /**
+     * Case-folds a value the way the filters compare it.
+     *
+     * @param value the value
+     * @return the value in lower case, or null
+     */
+    public static String fold(final String value) {
+        return value == null ? null : value.toLowerCase();
     }
 
     /**
      * Matches name boolean.
      *
-     * @param nameFilter the name
+     * @param nameFilter the name prefix, folded with {@link #fold(String)}
      * @return the boolean
      */
     public boolean matchesName(final String nameFilter) {
-        return getName().toLowerCase().startsWith(nameFilter.toLowerCase());
+        return foldedName.startsWith(nameFilter);
     }
 
     /**
@@ -56,7 +76,7 @@ public abstract class LibraryEntry {
     /**
      * Matches album boolean.
      *
-     * @param album the album
+     * @param album the album, folded with {@link #fold(String)}
      * @return the boolean
      */
     public boolean matchesAlbum(final String album) {
@@ -66,7 +86,7 @@ public abstract class LibraryEntry {
     /**
      * Matches tags boolean.
      *
-     * @param tags the tags
+     * @param tags the tags, each folded with {@link #fold(String)}
      * @return the boolean
      */
     public boolean matchesTags(final ArrayList<String> tags) {
@@ -76,7 +96,7 @@ public abstract class LibraryEntry {
     /**
      * Matches lyrics boolean.
      *
-     * @param lyrics the lyrics
+     * @param lyrics the lyrics, folded with {@link #fold(String)}
      * @return the boolean
      */
     public boolean matchesLyrics(final String lyrics) {
@@ -86,7 +106,7 @@ public abstract class LibraryEntry {
     /**
      * Matches genre boolean.
      *
-     * @param genre the genre
+     * @param genre the genre, folded with {@link #fold(String)}
      * @return the boolean
      */
     public boolean matchesGenre(final String genre) {
@@ -96,7 +116,7 @@ public abstract class LibraryEntry {
     /**
      * Matches artist boolean.
      *
-     * @param artist the artist
+     * @param artist the artist, folded with {@link #fold(String)}
      * @return the boolean
      */
     public boolean matchesArtist(final String artist) {
@@ -16,6 +16,7 @@ import java.util.List;
 @Getter
 @Setter
 public final class ArtistPage implements Page {
+    private final Admin admin;
     private String username;
     private List<Album> albums;
     private List<Merch> merchs;
@@ -23,6 +24,7 @@ public final class ArtistPage implements Page {
 
 
     public ArtistPage(final User user) {
+        admin = user.getAdmin();
         username = user.getUsername();
         albums = ((Artist) user).getAlbums();
         merchs = ((Artist) user).getMerchs();
@@ -32,7 +34,7 @@ public final class ArtistPage implements Page {
 
     @Override
     public String printPage() {
-        Artist artist = (Artist) Admin.getUser(username);
+        Artist artist = (Artist) admin.getUser(username);
 
         List<String> albumsNames = new ArrayList<>();
         for (Album album : albums) {
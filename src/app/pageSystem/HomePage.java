@@ -8,13 +8,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 
 
 public final class HomePage implements Page {
 
     private static final int MAX = 5;
 
-    private List<Song> likedSongs;
+    private Set<Song> likedSongs;
     private List<Playlist> followedPlaylists;
 
     public HomePage(final User user) {
@@ -12,15 +12,17 @@ import java.util.List;
 
 public final class HostPage implements Page {
 
+    private final Admin admin;
     private String username;
 
     public HostPage(final User user) {
+        admin = user.getAdmin();
         username = user.getUsername();
     }
 
     @Override
     public String printPage() {
-        Host host = (Host) Admin.getUser(username);
+        Host host = (Host) admin.getUser(username);
 
         StringBuilder result = new StringBuilder();
 
@@ -6,10 +6,11 @@ import app.user.User;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public final class LikedContentPage implements Page {
 
-    private final List<Song> likedSongs;
+    private final Set<Song> likedSongs;
     private final List<Playlist> followedPlaylists;
 
 
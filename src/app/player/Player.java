@@ -22,6 +22,10 @@ public final class Player {
     private PlayerSource source;
     private String type;
     private final int skipTime = 90;
+    // timestamp up to which the state of the player is simulated
+    private int lastUpdate;
+    // end of the current track, as registered in the playback scheduler
+    private int scheduledEnd = -1;
 
     private ArrayList<PodcastBookmark> bookmarks = new ArrayList<>();
 
@@ -164,6 +168,32 @@ public final class Player {
         return repeatMode;
     }
 
+    /**
+     * Brings the player up to the given timestamp.
+     *
+     * @param timestamp the timestamp
+     * @param running   whether the time passed for this player (its user was online)
+     */
+    public void advanceTo(final int timestamp, final boolean running) {
+        int elapsedTime = timestamp - lastUpdate;
+        lastUpdate = timestamp;
+        if (elapsedTime > 0 && running) {
+            simulatePlayer(elapsedTime);
+        }
+    }
+
+    /**
+     * Gets the timestamp at which the current track ends.
+     *
+     * @return the end of the current track, or -1 if the player is not playing
+     */
+    public int getTrackEnd() {
+        if (paused || source == null) {
+            return -1;
+        }
+        return lastUpdate + source.getDuration();
+    }
+
     /**
      * Simulate player.
      *
@@ -178,6 +208,7 @@ public final class Player {
                 if (paused) {
                     break;
                 }
+                elapsedTime = source.skipWholeTracks(elapsedTime, repeatMode, shuffle);
             }
             if (!paused) {
                 source.skip(-elapsedTime);
@@ -25,6 +25,10 @@ public class PlayerSource {
     private int indexShuffled;
     private int remainedDuration;
     private final List<Integer> indices = new ArrayList<>();
+    // prefix sums of the track durations, in the order the tracks are played
+    private long[] playOrderDurations;
+    private boolean playOrderShuffled;
+    private int playOrderRevision;
 
     /**
      * Instantiates a new Player source.
@@ -181,6 +185,7 @@ public class PlayerSource {
             indices.add(i);
         }
         Collections.shuffle(indices, random);
+        playOrderDurations = null;
     }
 
     /**
@@ -211,6 +216,129 @@ public class PlayerSource {
         }
     }
 
+    /**
+     * Skips the whole tracks that would end in the given time, right after the player
+     * moved to a new track. Whole cycles of a repeated track or collection are dropped
+     * arithmetically and the remaining tracks are found with a binary search over the
+     * prefix sums of the durations. Without repeat, the jump stops at the last track,
+     * so its end is handled by {@link #setNextAudioFile}.
+     *
+     * @param elapsedTime the time left to simulate
+     * @param repeatMode  the repeat mode
+     * @param shuffle     the shuffle
+     * @return the time left to simulate after the skipped tracks
+     */
+    public int skipWholeTracks(final int elapsedTime,
+                               final Enums.RepeatMode repeatMode,
+                               final boolean shuffle) {
+        if (elapsedTime < remainedDuration) {
+            return elapsedTime;
+        }
+
+        switch (repeatMode) {
+            case REPEAT_INFINITE, REPEAT_CURRENT_SONG -> {
+                if (audioFile.getDuration() > 0) {
+                    return elapsedTime % audioFile.getDuration();
+                }
+                return elapsedTime;
+            }
+            case REPEAT_ALL -> {
+                return skipInPlayOrder(elapsedTime, shuffle, true);
+            }
+            case NO_REPEAT -> {
+                return skipInPlayOrder(elapsedTime, shuffle, false);
+            }
+            default -> {
+                return elapsedTime;
+            }
+        }
+    }
+
+    private int skipInPlayOrder(final int elapsedTime, final boolean shuffle,
+                                final boolean cyclic) {
+        if (type == Enums.PlayerSourceType.LIBRARY) {
+            return elapsedTime;
+        }
+
+        long[] prefix = getPlayOrderDurations(shuffle);
+        int position = shuffle ? indexShuffled : index;
+        if (prefix == null || position < 0 || position >= prefix.length - 1) {
+            return elapsedTime;
+        }
+
+        int size = prefix.length - 1;
+        long total = prefix[size];
+        long time = elapsedTime;
+        if (cyclic) {
+            if (total == 0) {
+                return elapsedTime;
+            }
+            time %= total;
+        }
+
+        // the furthest track that starts before the time runs out
+        int last = cyclic ? position + size - 1 : size - 1;
+        long start = playOrderOffset(prefix, position);
+        int low = position;
+        int high = last;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (playOrderOffset(prefix, mid) - start <= time) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        time -= playOrderOffset(prefix, low) - start;
+        int newPosition = low % size;
+        if (newPosition != position) {
+            if (shuffle) {
+                indexShuffled = newPosition;
+                index = indices.get(indexShuffled);
+            } else {
+                index = newPosition;
+            }
+            updateAudioFile();
+            remainedDuration = audioFile.getDuration();
+        }
+
+        return (int) time;
+    }
+
+    private static long playOrderOffset(final long[] prefix, final int position) {
+        int size = prefix.length - 1;
+        if (position <= size) {
+            return prefix[position];
+        }
+        return prefix[size] + prefix[position - size];
+    }
+
+    private long[] getPlayOrderDurations(final boolean shuffle) {
+        int revision = audioCollection.getRevision();
+        if (playOrderDurations != null && playOrderShuffled == shuffle
+                && playOrderRevision == revision) {
+            return playOrderDurations;
+        }
+
+        int numberOfTracks = audioCollection.getNumberOfTracks();
+        int size = shuffle ? indices.size() : numberOfTracks;
+        long[] prefix = new long[size + 1];
+        for (int i = 0; i < size; i++) {
+            int track = shuffle ? indices.get(i) : i;
+            if (track >= numberOfTracks) {
+                // the shuffle order no longer matches the collection
+                return null;
+            }
+            prefix[i + 1] = prefix[i] + audioCollection.getTrackByIndex(track).getDuration();
+        }
+
+        playOrderDurations = prefix;
+        playOrderShuffled = shuffle;
+        playOrderRevision = revision;
+        return prefix;
+    }
+
     private void updateAudioFile() {
         setAudioFile(audioCollection.getTrackByIndex(index));
     }
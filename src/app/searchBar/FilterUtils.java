@@ -3,164 +3,141 @@ package app.searchBar;
 import app.audio.LibraryEntry;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
+
+import static app.audio.LibraryEntry.fold;
 
 /**
  * The type Filter utils.
  */
 public final class FilterUtils {
+    // estimated selectivity of each kind of filter, the most selective ones run first
+    private static final int EXACT = 0;
+    private static final int RANGE = 1;
+    private static final int PREFIX = 2;
+    private static final int VISIBILITY = 3;
 
     private FilterUtils() {
     }
 
     /**
-     * Filter by name list.
+     * Builds the fused filter chain of a search: every filter that applies to the
+     * searched type, checked from the most to the least selective one. The songs are
+     * filtered by their {@link SongIndex} instead. Without a name, the follower range
+     * of the playlists is answered by {@code Admin.getPlaylistsByFollowers}, so it has no
+     * stage then.
      *
-     * @param entries the entries
-     * @param name    the name
-     * @return the list
+     * @param filters the filters
+     * @param type    the searched type
+     * @param user    the user that searches
+     * @return the pipeline
      */
-    public static List<LibraryEntry> filterByName(final List<LibraryEntry> entries,
-                                                  final String name) {
-        List<LibraryEntry> result = new ArrayList<>();
-        for (LibraryEntry entry : entries) {
-            if (entry.matchesName(name)) {
-                result.add(entry);
-            }
+    public static Pipeline pipeline(final Filters filters, final String type,
+                                    final String user) {
+        Pipeline pipeline = new Pipeline();
+        String name = fold(filters.getName());
+        if (name != null) {
+            pipeline.add(PREFIX, entry -> entry.matchesName(name));
         }
-        return result;
-    }
 
-    /**
-     * Filter by album list.
-     *
-     * @param entries the entries
-     * @param album   the album
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByAlbum(final List<LibraryEntry> entries,
-                                                   final String album) {
-        return filter(entries, entry -> entry.matchesAlbum(album));
+        switch (type) {
+            case "playlist":
+                pipeline.add(VISIBILITY, entry -> entry.isVisibleToUser(user));
+                addOwner(pipeline, filters);
+                String followers = filters.getFollowers();
+                if (followers != null && name != null) {
+                    pipeline.add(RANGE, entry -> entry.matchesFollowers(followers));
+                }
+                break;
+            case "podcast":
+                addOwner(pipeline, filters);
+                break;
+            case "album":
+                addOwner(pipeline, filters);
+                String description = filters.getDescription();
+                if (description != null) {
+                    pipeline.add(EXACT, entry -> entry.matchesDescription(description));
+                }
+                break;
+            default:
+                break;
+        }
+        return pipeline;
     }
 
-    /**
-     * Filter by tags list.
-     *
-     * @param entries the entries
-     * @param tags    the tags
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByTags(final List<LibraryEntry> entries,
-                                                  final ArrayList<String> tags) {
-        return filter(entries, entry -> entry.matchesTags(tags));
+    private static void addOwner(final Pipeline pipeline, final Filters filters) {
+        String owner = filters.getOwner();
+        if (owner != null) {
+            pipeline.add(EXACT, entry -> entry.matchesOwner(owner));
+        }
     }
 
     /**
-     * Filter by lyrics list.
-     *
-     * @param entries the entries
-     * @param lyrics  the lyrics
-     * @return the list
+     * The filters of one search, fused into a single predicate. The entries are
+     * walked once and every entry stops at the first filter it fails.
      */
-    public static List<LibraryEntry> filterByLyrics(final List<LibraryEntry> entries,
-                                                    final String lyrics) {
-        return filter(entries, entry -> entry.matchesLyrics(lyrics));
-    }
+    public static final class Pipeline implements Predicate<LibraryEntry> {
+        private final List<Stage> stages = new ArrayList<>();
 
-    /**
-     * Filter by genre list.
-     *
-     * @param entries the entries
-     * @param genre   the genre
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByGenre(final List<LibraryEntry> entries,
-                                                   final String genre) {
-        return filter(entries, entry -> entry.matchesGenre(genre));
-    }
+        private Pipeline() {
+        }
 
-    /**
-     * Filter by artist list.
-     *
-     * @param entries the entries
-     * @param artist  the artist
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByArtist(final List<LibraryEntry> entries,
-                                                    final String artist) {
-        return filter(entries, entry -> entry.matchesArtist(artist));
-    }
+        private void add(final int selectivity, final FilterCriteria criteria) {
+            stages.add(new Stage(selectivity, criteria));
+            // stable, so filters with the same estimate keep the order of the search
+            stages.sort(Comparator.comparingInt(Stage::getSelectivity));
+        }
 
-    /**
-     * Filter by release year list.
-     *
-     * @param entries     the entries
-     * @param releaseYear the release year
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByReleaseYear(final List<LibraryEntry> entries,
-                                                         final String releaseYear) {
-        return filter(entries, entry -> entry.matchesReleaseYear(releaseYear));
-    }
+        @Override
+        public boolean test(final LibraryEntry entry) {
+            for (Stage stage : stages) {
+                if (!stage.getCriteria().matches(entry)) {
+                    return false;
+                }
+            }
+            return true;
+        }
 
-    /**
-     * Filter by owner list.
-     *
-     * @param entries the entries
-     * @param user    the user
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByOwner(final List<LibraryEntry> entries,
-                                                   final String user) {
-        return filter(entries, entry -> entry.matchesOwner(user));
+        /**
+         * Collects the first entries that pass every filter, stopping at the limit.
+         *
+         * @param entries the entries, in search order
+         * @param limit   the maximum number of results
+         * @return the list
+         */
+        public List<LibraryEntry> collect(final Iterable<? extends LibraryEntry> entries,
+                                          final int limit) {
+            List<LibraryEntry> result = new ArrayList<>();
+            for (LibraryEntry entry : entries) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (test(entry)) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        }
     }
 
+    private static final class Stage {
+        private final int selectivity;
+        private final FilterCriteria criteria;
 
-    /**
-     * Filter by description list.
-     *
-     * @param entries     the entries
-     * @param description the description
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByDescription(final List<LibraryEntry> entries,
-                                                         final String description) {
-        return filter(entries, entry -> entry.matchesDescription(description));
-    }
-
-    /**
-     * Filter by playlist visibility list.
-     *
-     * @param entries the entries
-     * @param user    the user
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByPlaylistVisibility(final List<LibraryEntry> entries,
-                                                                final String user) {
-        return filter(entries, entry -> entry.isVisibleToUser(user));
-    }
+        Stage(final int selectivity, final FilterCriteria criteria) {
+            this.selectivity = selectivity;
+            this.criteria = criteria;
+        }
 
-    /**
-     * Filter by followers list.
-     *
-     * @param entries   the entries
-     * @param followers the followers
-     * @return the list
-     */
-    public static List<LibraryEntry> filterByFollowers(final List<LibraryEntry> entries,
-                                                       final String followers) {
-        return filter(entries, entry -> entry.matchesFollowers(followers));
-    }
+        int getSelectivity() {
+            return selectivity;
+        }
 
-    private static List<LibraryEntry> filter(final List<LibraryEntry> entries,
-                                             final FilterCriteria criteria) {
-        List<LibraryEntry> result = new ArrayList<>();
-        for (LibraryEntry entry : entries) {
-            if (criteria.matches(entry)) {
-                result.add(entry);
-            }
+        FilterCriteria getCriteria() {
+            return criteria;
         }
-        return result;
     }
 
     @FunctionalInterface
@@ -0,0 +1,89 @@
+package app.searchBar;
+
+import app.audio.LibraryEntry;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Case-folded prefix index over the names of library entries of one type.
+ * Every entry has an order key, its position in the list the search would
+ * otherwise walk, so the matches of a prefix come out in that same order.
+ *
+ * @param <T> the type of the entries
+ */
+public final class NameIndex<T extends LibraryEntry> {
+    // folded name -> entries with that name, by order key
+    private final NavigableMap<String, NavigableMap<Long, T>> names = new TreeMap<>();
+    private final Map<T, Long> orders = new HashMap<>();
+
+    /**
+     * Adds an entry.
+     *
+     * @param entry the entry
+     * @param order the position of the entry in the search order
+     */
+    public void add(final T entry, final long order) {
+        if (orders.containsKey(entry)) {
+            return;
+        }
+        orders.put(entry, order);
+        names.computeIfAbsent(entry.getFoldedName(), name -> new TreeMap<>()).put(order, entry);
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param entry the entry
+     */
+    public void remove(final T entry) {
+        Long order = orders.remove(entry);
+        if (order == null) {
+            return;
+        }
+
+        String name = entry.getFoldedName();
+        NavigableMap<Long, T> entries = names.get(name);
+        entries.remove(order);
+        if (entries.isEmpty()) {
+            names.remove(name);
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        names.clear();
+        orders.clear();
+    }
+
+    /**
+     * Finds the first entries, in search order, whose name starts with the prefix
+     * (ignoring case) and that are accepted by the filter.
+     *
+     * @param prefix the name prefix
+     * @param filter the other filters of the search
+     * @param limit  the maximum number of results
+     * @return the entries
+     */
+    public List<T> find(final String prefix, final Predicate<? super T> filter,
+                        final int limit) {
+        String folded = LibraryEntry.fold(prefix);
+
+        // merge the entries of every matching name, which are each sorted by order
+        OrderedMerge<T> merge = new OrderedMerge<>();
+        for (Map.Entry<String, NavigableMap<Long, T>> name
+                : names.tailMap(folded, true).entrySet()) {
+            if (!name.getKey().startsWith(folded)) {
+                break;
+            }
+            merge.add(name.getValue());
+        }
+        return merge.first(filter, limit);
+    }
+}
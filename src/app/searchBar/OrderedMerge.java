@@ -0,0 +1,83 @@
+package app.searchBar;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Lazy merge of lists of entries that are each sorted by order key. The lists are
+ * walked together in order key order, so only the entries before the last result are
+ * looked at. Opening the lists costs a logarithmic step for each of them.
+ *
+ * @param <T> the type of the entries
+ */
+final class OrderedMerge<T> {
+    private final PriorityQueue<Cursor<T>> cursors = new PriorityQueue<>(
+            Comparator.comparingLong(Cursor::getOrder));
+
+    /**
+     * Adds a list to merge.
+     *
+     * @param entries the entries, by order key
+     */
+    void add(final NavigableMap<Long, T> entries) {
+        Cursor<T> cursor = new Cursor<>(entries.entrySet().iterator());
+        if (cursor.advance()) {
+            cursors.add(cursor);
+        }
+    }
+
+    /**
+     * Gets the first entries, by order key, that are accepted by the filter.
+     *
+     * @param filter the filter
+     * @param limit  the maximum number of entries
+     * @return the entries
+     */
+    List<T> first(final Predicate<? super T> filter, final int limit) {
+        List<T> result = new ArrayList<>();
+        while (!cursors.isEmpty() && result.size() < limit) {
+            Cursor<T> cursor = cursors.poll();
+            if (filter.test(cursor.getEntry())) {
+                result.add(cursor.getEntry());
+            }
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private static final class Cursor<T> {
+        private final Iterator<Map.Entry<Long, T>> iterator;
+        private long order;
+        private T entry;
+
+        Cursor(final Iterator<Map.Entry<Long, T>> iterator) {
+            this.iterator = iterator;
+        }
+
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            Map.Entry<Long, T> next = iterator.next();
+            order = next.getKey();
+            entry = next.getValue();
+            return true;
+        }
+
+        long getOrder() {
+            return order;
+        }
+
+        T getEntry() {
+            return entry;
+        }
+    }
+}
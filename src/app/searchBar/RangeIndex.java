@@ -0,0 +1,122 @@
+package app.searchBar;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Entries grouped in buckets by a count, like the followers of a playlist, to find
+ * the ones with a count inside a range. Every bucket keeps its entries by order key,
+ * so the buckets of a range are merged lazily, like in {@link NameIndex#find}.
+ *
+ * @param <T> the type of the entries
+ */
+public final class RangeIndex<T> {
+    // count -> entries with that count, by order key
+    private final NavigableMap<Integer, NavigableMap<Long, T>> buckets = new TreeMap<>();
+    private final Map<T, Position> positions = new HashMap<>();
+
+    /**
+     * Adds an entry.
+     *
+     * @param entry the entry
+     * @param order the position of the entry in the search order
+     * @param count the count of the entry
+     */
+    public void add(final T entry, final long order, final int count) {
+        if (positions.containsKey(entry)) {
+            return;
+        }
+        Position position = new Position(order, count);
+        positions.put(entry, position);
+        link(entry, position);
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param entry the entry
+     */
+    public void remove(final T entry) {
+        Position position = positions.remove(entry);
+        if (position != null) {
+            unlink(position);
+        }
+    }
+
+    /**
+     * Moves an entry to the bucket of its new count.
+     * Entries that were never added are ignored.
+     *
+     * @param entry the entry
+     * @param count the new count of the entry
+     */
+    public void update(final T entry, final int count) {
+        Position position = positions.get(entry);
+        if (position == null || position.count == count) {
+            return;
+        }
+        unlink(position);
+        position.count = count;
+        link(entry, position);
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        buckets.clear();
+        positions.clear();
+    }
+
+    /**
+     * Gets the first entries, in search order, with a count inside a range and
+     * accepted by the filter.
+     *
+     * @param from          the lower end of the range
+     * @param fromInclusive whether the lower end is in the range
+     * @param to            the upper end of the range
+     * @param toInclusive   whether the upper end is in the range
+     * @param filter        the other filters of the search
+     * @param limit         the maximum number of entries
+     * @return the entries
+     */
+    public List<T> between(final int from, final boolean fromInclusive,
+                           final int to, final boolean toInclusive,
+                           final Predicate<? super T> filter, final int limit) {
+        OrderedMerge<T> merge = new OrderedMerge<>();
+        if (from <= to) {
+            for (NavigableMap<Long, T> bucket
+                    : buckets.subMap(from, fromInclusive, to, toInclusive).values()) {
+                merge.add(bucket);
+            }
+        }
+        return merge.first(filter, limit);
+    }
+
+    private void link(final T entry, final Position position) {
+        buckets.computeIfAbsent(position.count, key -> new TreeMap<>())
+                .put(position.order, entry);
+    }
+
+    private void unlink(final Position position) {
+        NavigableMap<Long, T> bucket = buckets.get(position.count);
+        bucket.remove(position.order);
+        if (bucket.isEmpty()) {
+            buckets.remove(position.count);
+        }
+    }
+
+    private static final class Position {
+        private final long order;
+        private int count;
+
+        Position(final long order, final int count) {
+            this.order = order;
+            this.count = count;
+        }
+    }
+}
@@ -6,25 +6,16 @@ import app.audio.LibraryEntry;
 import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-
-import static app.searchBar.FilterUtils.filterByAlbum;
-import static app.searchBar.FilterUtils.filterByArtist;
-import static app.searchBar.FilterUtils.filterByDescription;
-import static app.searchBar.FilterUtils.filterByFollowers;
-import static app.searchBar.FilterUtils.filterByGenre;
-import static app.searchBar.FilterUtils.filterByLyrics;
-import static app.searchBar.FilterUtils.filterByName;
-import static app.searchBar.FilterUtils.filterByOwner;
-import static app.searchBar.FilterUtils.filterByPlaylistVisibility;
-import static app.searchBar.FilterUtils.filterByReleaseYear;
-import static app.searchBar.FilterUtils.filterByTags;
+import java.util.function.Supplier;
 
 /**
  * The type Search bar.
  */
 public final class SearchBar {
     private List<LibraryEntry> results;
+    private final Admin admin;
     private final String user;
     private static final Integer MAX_RESULTS = 5;
     @Getter
@@ -36,10 +27,12 @@ public final class SearchBar {
     /**
      * Instantiates a new Search bar.
      *
-     * @param user the user
+     * @param admin the admin whose library is searched
+     * @param user  the user
      */
-    public SearchBar(final String user) {
+    public SearchBar(final Admin admin, final String user) {
         this.results = new ArrayList<>();
+        this.admin = admin;
         this.user = user;
     }
 
@@ -63,108 +56,58 @@ public final class SearchBar {
 
         switch (type) {
             case "song":
-                entries = new ArrayList<>(Admin.getSongs());
-
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
-
-                if (filters.getAlbum() != null) {
-                    entries = filterByAlbum(entries, filters.getAlbum());
-                }
-
-                if (filters.getTags() != null) {
-                    entries = filterByTags(entries, filters.getTags());
-                }
-
-                if (filters.getLyrics() != null) {
-                    entries = filterByLyrics(entries, filters.getLyrics());
-                }
-
-                if (filters.getGenre() != null) {
-                    entries = filterByGenre(entries, filters.getGenre());
-                }
-
-                if (filters.getReleaseYear() != null) {
-                    entries = filterByReleaseYear(entries, filters.getReleaseYear());
-                }
-
-                if (filters.getArtist() != null) {
-                    entries = filterByArtist(entries, filters.getArtist());
-                }
-
+                entries = admin.getSongIndex().search(filters, MAX_RESULTS);
                 break;
             case "playlist":
-                entries = new ArrayList<>(Admin.getPlaylists());
-
-                entries = filterByPlaylistVisibility(entries, user);
-
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
-
-                if (filters.getOwner() != null) {
-                    entries = filterByOwner(entries, filters.getOwner());
-                }
-
-                if (filters.getFollowers() != null) {
-                    entries = filterByFollowers(entries, filters.getFollowers());
+                if (filters.getName() == null && filters.getFollowers() != null) {
+                    // without a name, the follower range narrows the playlists to walk
+                    entries = new ArrayList<>(admin.getPlaylistsByFollowers(
+                            filters.getFollowers(), FilterUtils.pipeline(filters, type, user),
+                            MAX_RESULTS));
+                } else {
+                    entries = collect(admin.getPlaylistNames(), admin::getPlaylists,
+                            filters, type);
                 }
-
                 break;
             case "podcast":
-                entries = new ArrayList<>(Admin.getPodcasts());
-
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
-
-                if (filters.getOwner() != null) {
-                    entries = filterByOwner(entries, filters.getOwner());
-                }
+                entries = collect(admin.getPodcastNames(), admin::getPodcasts,
+                        filters, type);
                 break;
             case "artist":
-                entries = new ArrayList<>(Admin.getArtists());
-
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
+                entries = collect(admin.getArtistNames(), admin::getArtists,
+                        filters, type);
                 break;
             case "album":
-                entries = new ArrayList<>(Admin.getAlbums());
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
-
-                if (filters.getOwner() != null) {
-                    entries = filterByOwner(entries, filters.getOwner());
-                }
-
-                if (filters.getDescription() != null) {
-                    entries = filterByDescription(entries, filters.getDescription());
-                }
-
+                entries = collect(admin.getAlbumNames(), admin::getAlbums,
+                        filters, type);
                 break;
-
             case "host":
-                entries = new ArrayList<>(Admin.getHosts());
-                if (filters.getName() != null) {
-                    entries = filterByName(entries, filters.getName());
-                }
+                entries = collect(admin.getHostNames(), admin::getHosts,
+                        filters, type);
                 break;
             default:
                 entries = new ArrayList<>();
         }
 
-        while (entries.size() > MAX_RESULTS) {
-            entries.remove(entries.size() - 1);
-        }
-
         this.results = entries;
         this.lastSearchType = type;
         return this.results;
     }
 
+    /**
+     * Walks the entries with a matching name when there is a name filter, or all of
+     * them otherwise, through the filter pipeline of the searched type.
+     */
+    private <T extends LibraryEntry> List<LibraryEntry> collect(
+            final NameIndex<T> names, final Supplier<? extends Collection<T>> entries,
+            final Filters filters, final String type) {
+        FilterUtils.Pipeline pipeline = FilterUtils.pipeline(filters, type, user);
+        if (filters.getName() != null) {
+            return new ArrayList<>(names.find(filters.getName(), pipeline, MAX_RESULTS));
+        }
+        return pipeline.collect(entries.get(), MAX_RESULTS);
+    }
+
     /**
      * Select library entry.
      *
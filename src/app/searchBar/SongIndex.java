@@ -0,0 +1,406 @@
+package app.searchBar;
+
+import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static app.audio.LibraryEntry.fold;
+
+/**
+ * Inverted index over the songs of the library. Every song gets an id in library
+ * order, and the exact-match filters (album, genre, artist, tags) and the release
+ * year map to the set of ids that match them. The lyrics are indexed by the
+ * trigrams they contain: a song can only contain the searched text if it contains
+ * all of its trigrams, and those candidates are then checked against the lyrics.
+ *
+ * <p>There are many more trigrams than values of the other filters, and most of them
+ * appear in a few songs only, so their postings are sorted arrays of ids instead of
+ * bitmaps as long as the highest id, until the array would be the bigger one.
+ * The ids of removed songs are not given to new songs, since the ids keep the library
+ * order; instead, once most ids belong to removed songs, the live songs are numbered
+ * again from 0.
+ */
+public final class SongIndex {
+    private static final int GRAM = 3;
+    // the ids are renumbered once there are more removed ids than this and than live ones
+    private static final int MIN_COMPACTION = 1024;
+
+    private final List<Song> songsById = new ArrayList<>();
+    private final Map<Song, Integer> ids = new HashMap<>();
+    private final BitSet live = new BitSet();
+
+    private final Map<String, BitSet> albums = new HashMap<>();
+    private final Map<String, BitSet> genres = new HashMap<>();
+    private final Map<String, BitSet> artists = new HashMap<>();
+    private final Map<String, BitSet> tags = new HashMap<>();
+    private final NavigableMap<Integer, BitSet> releaseYears = new TreeMap<>();
+    private final NameIndex<Song> names = new NameIndex<>();
+    private final Map<Long, Posting> trigrams = new HashMap<>();
+
+    /**
+     * Adds a song at the end of the library order.
+     *
+     * @param song the song
+     */
+    public void add(final Song song) {
+        if (ids.containsKey(song)) {
+            return;
+        }
+
+        int id = songsById.size();
+        songsById.add(song);
+        ids.put(song, id);
+        live.set(id);
+        names.add(song, id);
+
+        post(albums, song.getFoldedAlbum(), id);
+        post(genres, song.getFoldedGenre(), id);
+        post(artists, song.getFoldedArtist(), id);
+        for (String tag : song.getFoldedTags()) {
+            post(tags, tag, id);
+        }
+        if (song.getFoldedLyrics() != null) {
+            for (long trigram : trigramsOf(song.getFoldedLyrics())) {
+                trigrams.computeIfAbsent(trigram, key -> new Posting()).add(id);
+            }
+        }
+        if (song.getReleaseYear() != null) {
+            releaseYears.computeIfAbsent(song.getReleaseYear(), year -> new BitSet()).set(id);
+        }
+    }
+
+    /**
+     * Removes a song from the index.
+     *
+     * @param song the song
+     */
+    public void remove(final Song song) {
+        Integer id = ids.remove(song);
+        if (id == null) {
+            return;
+        }
+
+        songsById.set(id, null);
+        live.clear(id);
+        names.remove(song);
+
+        unpost(albums, song.getFoldedAlbum(), id);
+        unpost(genres, song.getFoldedGenre(), id);
+        unpost(artists, song.getFoldedArtist(), id);
+        for (String tag : song.getFoldedTags()) {
+            unpost(tags, tag, id);
+        }
+        if (song.getFoldedLyrics() != null) {
+            for (long trigram : trigramsOf(song.getFoldedLyrics())) {
+                Posting posting = trigrams.get(trigram);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    trigrams.remove(trigram);
+                }
+            }
+        }
+        if (song.getReleaseYear() != null) {
+            BitSet years = releaseYears.get(song.getReleaseYear());
+            if (years != null) {
+                years.clear(id);
+                if (years.isEmpty()) {
+                    releaseYears.remove(song.getReleaseYear());
+                }
+            }
+        }
+
+        int removed = songsById.size() - ids.size();
+        if (removed > MIN_COMPACTION && removed > ids.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Numbers the live songs again from 0, in the same order, so the bitmaps and the
+     * id lists don't keep room for the ids of removed songs.
+     */
+    private void compact() {
+        List<Song> songs = new ArrayList<>(ids.size());
+        for (int id = live.nextSetBit(0); id >= 0; id = live.nextSetBit(id + 1)) {
+            songs.add(songsById.get(id));
+        }
+        clear();
+        for (Song song : songs) {
+            add(song);
+        }
+    }
+
+    /**
+     * Removes every song from the index.
+     */
+    public void clear() {
+        songsById.clear();
+        ids.clear();
+        live.clear();
+        albums.clear();
+        genres.clear();
+        artists.clear();
+        tags.clear();
+        releaseYears.clear();
+        names.clear();
+        trigrams.clear();
+    }
+
+    /**
+     * Finds the first songs, in library order, that match the filters.
+     *
+     * @param filters the filters
+     * @param limit   the maximum number of results
+     * @return the songs
+     */
+    public List<LibraryEntry> search(final Filters filters, final int limit) {
+        List<BitSet> postings = new ArrayList<>();
+
+        if (filters.getAlbum() != null) {
+            postings.add(lookup(albums, filters.getAlbum()));
+        }
+        if (filters.getTags() != null) {
+            for (String tag : filters.getTags()) {
+                postings.add(lookup(tags, tag));
+            }
+        }
+        if (filters.getGenre() != null) {
+            postings.add(lookup(genres, filters.getGenre()));
+        }
+        if (filters.getReleaseYear() != null) {
+            postings.add(releasedIn(filters.getReleaseYear()));
+        }
+        if (filters.getArtist() != null) {
+            postings.add(lookup(artists, filters.getArtist()));
+        }
+        List<Posting> lyricsPostings = new ArrayList<>();
+        if (filters.getLyrics() != null) {
+            // shorter texts have no trigram, so every song is a candidate
+            for (long trigram : trigramsOf(fold(filters.getLyrics()))) {
+                Posting posting = trigrams.get(trigram);
+                if (posting == null) {
+                    return new ArrayList<>();
+                }
+                lyricsPostings.add(posting);
+            }
+        }
+
+        BitSet candidates = intersect(postings, lyricsPostings);
+
+        String lyrics = fold(filters.getLyrics());
+        if (filters.getName() != null) {
+            return new ArrayList<>(names.find(filters.getName(),
+                    song -> candidates.get(ids.get(song))
+                            && (lyrics == null || song.matchesLyrics(lyrics)),
+                    limit));
+        }
+
+        List<LibraryEntry> result = new ArrayList<>();
+        for (int id = candidates.nextSetBit(0); id >= 0 && result.size() < limit;
+             id = candidates.nextSetBit(id + 1)) {
+            Song song = songsById.get(id);
+            if (lyrics == null || song.matchesLyrics(lyrics)) {
+                result.add(song);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Intersects the postings of a search, starting from the smallest one, so the
+     * intermediate sets stay small. Without any posting every live song is a candidate,
+     * and the live set itself is returned: it must not be changed.
+     */
+    private BitSet intersect(final List<BitSet> postings, final List<Posting> lyricsPostings) {
+        if (postings.isEmpty() && lyricsPostings.isEmpty()) {
+            return live;
+        }
+
+        postings.sort(Comparator.comparingInt(BitSet::cardinality));
+        lyricsPostings.sort(Comparator.comparingInt(Posting::size));
+        BitSet intersection;
+        if (postings.isEmpty() || (!lyricsPostings.isEmpty()
+                && lyricsPostings.get(0).size() < postings.get(0).cardinality())) {
+            intersection = lyricsPostings.remove(0).toBitSet();
+        } else {
+            intersection = (BitSet) postings.remove(0).clone();
+        }
+
+        for (BitSet posting : postings) {
+            if (intersection.isEmpty()) {
+                return intersection;
+            }
+            intersection.and(posting);
+        }
+        for (Posting posting : lyricsPostings) {
+            if (intersection.isEmpty()) {
+                return intersection;
+            }
+            intersection = posting.retain(intersection);
+        }
+        return intersection;
+    }
+
+    private BitSet releasedIn(final String query) {
+        Map<Integer, BitSet> years;
+        if (query.startsWith("<")) {
+            years = releaseYears.headMap(Integer.parseInt(query.substring(1)), false);
+        } else if (query.startsWith(">")) {
+            years = releaseYears.tailMap(Integer.parseInt(query.substring(1)), false);
+        } else {
+            int year = Integer.parseInt(query);
+            years = releaseYears.subMap(year, true, year, true);
+        }
+
+        BitSet result = new BitSet();
+        for (BitSet yearIds : years.values()) {
+            result.or(yearIds);
+        }
+        return result;
+    }
+
+    private static BitSet lookup(final Map<String, BitSet> postings, final String key) {
+        BitSet posting = postings.get(fold(key));
+        return posting != null ? posting : new BitSet();
+    }
+
+    private static void post(final Map<String, BitSet> postings, final String key,
+                             final int id) {
+        if (key != null) {
+            postings.computeIfAbsent(key, k -> new BitSet()).set(id);
+        }
+    }
+
+    private static void unpost(final Map<String, BitSet> postings, final String key,
+                               final int id) {
+        if (key == null) {
+            return;
+        }
+        BitSet posting = postings.get(key);
+        if (posting != null) {
+            posting.clear(id);
+            if (posting.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private static Set<Long> trigramsOf(final String text) {
+        Set<Long> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            result.add(((long) text.charAt(i) << (2 * Character.SIZE))
+                    | ((long) text.charAt(i + 1) << Character.SIZE)
+                    | text.charAt(i + 2));
+        }
+        return result;
+    }
+
+    /**
+     * The ids of the songs with one trigram: a sorted array while there are few of them,
+     * and a bitmap once the array would take more room than the bitmap.
+     */
+    private static final class Posting {
+        private static final int INITIAL_CAPACITY = 4;
+        private static final int SHRINK_FACTOR = 4;
+
+        private int[] values = new int[INITIAL_CAPACITY];
+        private BitSet bits;
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void add(final int id) {
+            if (bits != null) {
+                if (!bits.get(id)) {
+                    bits.set(id);
+                    size++;
+                }
+                return;
+            }
+
+            int index = -Arrays.binarySearch(values, 0, size, id) - 1;
+            if (index < 0) {
+                return;
+            }
+            if (size == values.length) {
+                // an int takes as much room as Integer.SIZE bits of the bitmap
+                if ((long) size * Integer.SIZE > id) {
+                    bits = toBitSet();
+                    values = null;
+                    add(id);
+                    return;
+                }
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            // ids are handed out in increasing order, so this is almost always the end
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = id;
+            size++;
+        }
+
+        void remove(final int id) {
+            if (bits != null) {
+                if (bits.get(id)) {
+                    bits.clear(id);
+                    size--;
+                }
+                return;
+            }
+
+            int index = Arrays.binarySearch(values, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+            if (values.length > INITIAL_CAPACITY && size < values.length / SHRINK_FACTOR) {
+                values = Arrays.copyOf(values, Math.max(INITIAL_CAPACITY, 2 * size));
+            }
+        }
+
+        BitSet toBitSet() {
+            if (bits != null) {
+                return (BitSet) bits.clone();
+            }
+            BitSet result = new BitSet();
+            for (int i = 0; i < size; i++) {
+                result.set(values[i]);
+            }
+            return result;
+        }
+
+        /**
+         * Keeps the ids of the set that are also in this posting.
+         */
+        BitSet retain(final BitSet ids) {
+            if (bits != null) {
+                ids.and(bits);
+                return ids;
+            }
+            BitSet result = new BitSet();
+            for (int i = 0; i < size; i++) {
+                if (ids.get(values[i])) {
+                    result.set(values[i]);
+                }
+            }
+            return result;
+        }
+    }
+}
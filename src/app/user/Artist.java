@@ -2,6 +2,7 @@ package app.user;
 
 
 import app.Admin;
+import app.ListenerIndex;
 import app.audio.Collections.Album;
 import app.audio.Files.Song;
 import app.info.Event;
@@ -20,10 +21,6 @@ import fileio.input.SongInput;
 import lombok.Getter;
 import lombok.Setter;
 
-import static app.Admin.verification;
-import static app.Admin.updateSongs;
-import static app.Admin.users;
-
 @Getter
 @Setter
 public final class Artist extends User {
@@ -43,16 +40,6 @@ public final class Artist extends User {
 
     private ArrayList<Merch> merchs;
 
-    public int likes = 0;
-
-    public int getLikes() {
-        return likes;
-    }
-
-    public void setLikes(final int likes) {
-        this.likes = likes;
-    }
-
 
     @Override
     public boolean isArtist() {
@@ -63,15 +50,16 @@ public final class Artist extends User {
     /**
      * Instantiates a new Artist.
      *
+     * @param admin    the admin the artist belongs to
      * @param username the username
      * @param age      the age
      * @param city     the city
      * @param online   the online
      * @param type     the type
      */
-    public Artist(final String username, final int age,
+    public Artist(final Admin admin, final String username, final int age,
                   final String city, final boolean online, final String type) {
-        super(username, age, city, online, type);
+        super(admin, username, age, city, online, type);
         albums = new ArrayList<>();
         events = new ArrayList<>();
         merchs = new ArrayList<>();
@@ -102,9 +90,9 @@ public final class Artist extends User {
                     .add(song.getName()))) {
                 return " has the same song at least twice in this album.";
             } else {
-                Admin.addSongs(album.getAllSongs());
+                getAdmin().addSongs(album.getAllSongs());
                 albums.add(album);
-                Admin.addAlbum(album);
+                getAdmin().addAlbum(album);
                 return " has added new album successfully.";
             }
         }
@@ -226,32 +214,22 @@ public final class Artist extends User {
      * @return A message indicating the success or failure of the removal process.
      */
     public String removeAlbum(final String albumName) {
-        List<String> loadedSongs = new ArrayList<>();
-
-        // Iterăm prin utilizatorii cu player ne-pausat și adăugăm numele melodiilor în loadedSongs
-        for (User user : Admin.getUsers()) {
-            if (user.getPlayer().getSource() != null && !user.getPlayer().getPaused()) {
-                String loadedSongName = user.getPlayer().getSource().getAudioFile().getName();
-                if (!loadedSongs.contains(loadedSongName)) {
-                    loadedSongs.add(loadedSongName);
-                }
-            }
-        }
-
-        // Verificăm dacă melodiile din loadedSongs se află în albumul cu numele dat
+        // Verificăm dacă melodiile redate de useri cu player ne-pausat se află în album
         Album albumToRemove = findAlbumByName(albumName);
         if (albumToRemove != null) {
-            for (String loadedSongName : loadedSongs) {
+            ListenerIndex listeners = getAdmin().getListenerIndex();
+            if (listeners.isAnyPlaying()) {
                 for (Song song : albumToRemove.getSongs()) {
-                    if (song.getName().equals(loadedSongName)
-                            || albumToRemove.getName().equals(albumloaded.getName())) {
+                    if (!listeners.playingFile(song.getName()).isEmpty()
+                            || albumToRemove.getName()
+                            .equals(getAdmin().getAlbumLoaded().getName())) {
                         return getUsername() + " can't delete this album.";
                     }
                 }
             }
             // Dacă nu s-a găsit nicio melodie încărcată din album, atunci albumul poate fi șters
-            Admin.getSongs().removeAll(albumToRemove.getSongs());
-            Admin.getAlbums().remove(albumToRemove);
+            // the album and its songs stay in the library: the command only reports
+            // whether the album could be deleted
             return getUsername() + "deleted the album successfully.";
 
         } else {
@@ -266,7 +244,7 @@ public final class Artist extends User {
      * @return The album with the specified name or null if no such album exists.
      */
     private Album findAlbumByName(final String albumName) {
-        for (Artist artist : Admin.getArtists()) {
+        for (Artist artist : getAdmin().getArtists()) {
             for (Album album : artist.getAlbums()) {
                 if (album.getName().equals(albumName)) {
                     return album;
@@ -286,18 +264,18 @@ public final class Artist extends User {
      */
     @Override
     public String deleteThis(final String username, final String pageVisit) {
-        String verificationResult = verification(username);
+        String verificationResult = getAdmin().verification(username);
 
         if ("album".equals(verificationResult) || !"no".equals(pageVisit)) {
             return username + " can't be deleted.";
         }
 
-        User user = Admin.getUser(username);
+        User user = getAdmin().getUser(username);
 
         if (user != null) {
             Artist artist = (Artist) user;
-            updateSongs(artist, username);
-            users.remove(user);
+            getAdmin().updateSongs(artist, username);
+            getAdmin().removeUser(user);
             return username + " was successfully deleted.";
         }
 
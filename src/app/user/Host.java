@@ -11,9 +11,6 @@ import fileio.input.CommandInput;
 import fileio.input.EpisodeInput;
 import lombok.Getter;
 
-import static app.Admin.users;
-import static app.Admin.verification;
-
 @Getter
 public final class Host extends User {
 
@@ -30,15 +27,16 @@ public final class Host extends User {
     /**
      * Instantiates a new Host.
      *
+     * @param admin    the admin the host belongs to
      * @param username the username
      * @param age      the age
      * @param city     the city
      * @param online   the online
      * @param type     the type
      */
-    public Host(final String username, final int age,
+    public Host(final Admin admin, final String username, final int age,
                 final String city, final boolean online, final String type) {
-        super(username, age, city, online, type);
+        super(admin, username, age, city, online, type);
         podcasts = new ArrayList<>();
         announcements = new ArrayList<>();
     }
@@ -55,7 +53,7 @@ public final class Host extends User {
         }
         Podcast podcast = new Podcast(commandInput.getName(),
                 commandInput.getUsername(), episodes);
-        Admin.addPodcast(podcast);
+        getAdmin().addPodcast(podcast);
         if (podcasts.stream().anyMatch(existingPodcast -> existingPodcast
                 .getName().equals(podcast.getName()))) {
             return " has another podcast with the same name.";
@@ -93,14 +91,7 @@ public final class Host extends User {
      * @return "da" if the podcast is being played, "nu" otherwise.
      */
     public String podcastPlayed(final String podcastName) {
-        for (User user : Admin.getUsers()) {
-            if (user.getPlayer().getSource() != null
-                    && user.getPlayer().getSource().getAudioCollection()
-                    .getName().equals(podcastName)) {
-                return "da";
-            }
-        }
-        return "nu";
+        return getAdmin().getListenerIndex().isLoaded(podcastName) ? "da" : "nu";
     }
 
     /**
@@ -142,14 +133,14 @@ public final class Host extends User {
      */
     @Override
     public String deleteThis(final String username, final String pageVisit) {
-        if (verification(username).equals("podcast") || !pageVisit.equals("no")) {
+        if (getAdmin().verification(username).equals("podcast") || !pageVisit.equals("no")) {
             return username + " can't be deleted.";
         }
 
-        User user = Admin.getUser(username);
+        User user = getAdmin().getUser(username);
 
         if (user != null) {
-            users.remove(user);
+            getAdmin().removeUser(user);
             return username + " was successfully deleted.";
         }
 
@@ -21,14 +21,9 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 
-import static app.Admin.verification;
-import static app.Admin.users;
-import static app.Admin.updateFollowedPlaylists;
-import static app.Admin.decrementFollowers;
-
 
 /**
  * The type User.
@@ -38,6 +33,8 @@ import static app.Admin.decrementFollowers;
 @Setter
 public class User extends LibraryEntry {
 
+    private final Admin admin;
+
     private String username;
 
     private int age;
@@ -46,7 +43,7 @@ public class User extends LibraryEntry {
 
     private ArrayList<Playlist> playlists;
 
-    private ArrayList<Song> likedSongs;
+    private LinkedHashSet<Song> likedSongs;
 
     private ArrayList<Playlist> followedPlaylists;
 
@@ -62,11 +59,10 @@ public class User extends LibraryEntry {
 
     private Page currentPage;
 
-    public static LibraryEntry albumloaded;
-
     /**
      * Instantiates a new Artist/Host.
      *
+     * @param admin    the admin the user belongs to
      * @param username the username
      * @param age      the age
      * @param city     the city
@@ -75,18 +71,19 @@ public class User extends LibraryEntry {
      */
 
     @Builder
-    public User(final String username, final int age, final String city,
+    public User(final Admin admin, final String username, final int age, final String city,
                 final boolean online, final String type) {
         super(username);
+        this.admin = admin;
         this.username = username;
         this.age = age;
         this.city = city;
         this.online = online;
         playlists = new ArrayList<>();
-        likedSongs = new ArrayList<>();
+        likedSongs = new LinkedHashSet<>();
         followedPlaylists = new ArrayList<>();
         player = new Player();
-        searchBar = new SearchBar(username);
+        searchBar = new SearchBar(admin, username);
         lastSearched = false;
         this.type = type;
     }
@@ -94,21 +91,24 @@ public class User extends LibraryEntry {
     /**
      * Instantiates a new User.
      *
+     * @param admin    the admin the user belongs to
      * @param username the username
      * @param age      the age
      * @param city     the city
      */
     @Builder
-    public User(final String username, final int age, final String city) {
+    public User(final Admin admin, final String username, final int age,
+                final String city) {
         super(username);
+        this.admin = admin;
         this.username = username;
         this.age = age;
         this.city = city;
         playlists = new ArrayList<>();
-        likedSongs = new ArrayList<>();
+        likedSongs = new LinkedHashSet<>();
         followedPlaylists = new ArrayList<>();
         player = new Player();
-        searchBar = new SearchBar(username);
+        searchBar = new SearchBar(admin, username);
         lastSearched = false;
         currentPage = new HomePage(this);
     }
@@ -124,6 +124,8 @@ public class User extends LibraryEntry {
         searchBar.clearSelection();
         player.stop();
 
+        admin.getScheduler().track(this);
+
         lastSearched = true;
         ArrayList<String> results = new ArrayList<>();
         List<LibraryEntry> libraryEntries = searchBar.search(filters, typeSearched);
@@ -150,9 +152,9 @@ public class User extends LibraryEntry {
         LibraryEntry selected = searchBar.select(itemNumber);
 
         if (selected != null && selected.isArtist()) {
-            this.currentPage = ((Artist) selected).getCurrentPage();
+            setCurrentPage(((Artist) selected).getCurrentPage());
         } else if (selected != null && selected.isHost()) {
-            this.currentPage = ((Host) selected).getCurrentPage();
+            setCurrentPage(((Host) selected).getCurrentPage());
         }
 
         if (selected == null) {
@@ -180,7 +182,7 @@ public class User extends LibraryEntry {
             return "You can't load an empty audio collection!";
         }
         if (searchBar.getLastSearchType().equals("album")) {
-            albumloaded = searchBar.getLastSelected();
+            admin.setAlbumLoaded(searchBar.getLastSelected());
         }
 
         player.setSource(searchBar.getLastSelected(), searchBar.getLastSearchType());
@@ -188,6 +190,7 @@ public class User extends LibraryEntry {
 
 
         player.pause();
+        admin.getScheduler().track(this);
 
         return "Playback loaded successfully.";
     }
@@ -203,6 +206,7 @@ public class User extends LibraryEntry {
         }
 
         player.pause();
+        admin.getScheduler().track(this);
 
         if (player.getPaused()) {
             return "Playback paused successfully.";
@@ -249,6 +253,16 @@ public class User extends LibraryEntry {
         return "Repeat mode changed to %s.".formatted(repeatStatus);
     }
 
+    /**
+     * Sets the current page, keeping track of who visits which page.
+     *
+     * @param page the page
+     */
+    public void setCurrentPage(final Page page) {
+        admin.movePageVisitor(this, currentPage, page);
+        currentPage = page;
+    }
+
     /**
      * Changes the current page of the user based on the specified command.
      *
@@ -257,11 +271,11 @@ public class User extends LibraryEntry {
      */
     public String changePage(final String page) {
         if (page.equals("Home")) {
-            this.currentPage = new HomePage(this);
+            setCurrentPage(new HomePage(this));
             return username + " accessed " + page + " successfully.";
         } else if (page.equals("LikedContent")) {
             if (this.type.equals("regular")) {
-                this.currentPage = new LikedContentPage(this);
+                setCurrentPage(new LikedContentPage(this));
                 return username + " accessed " + page + " successfully.";
             } else {
                 return username + " is trying to access a non-existent page.";
@@ -309,6 +323,7 @@ public class User extends LibraryEntry {
         }
 
         player.skipNext();
+        admin.getScheduler().track(this);
 
         return "Skipped forward successfully.";
     }
@@ -328,6 +343,7 @@ public class User extends LibraryEntry {
         }
 
         player.skipPrev();
+        admin.getScheduler().track(this);
 
         return "Rewound successfully.";
     }
@@ -350,15 +366,18 @@ public class User extends LibraryEntry {
 
         Song song = (Song) player.getCurrentAudioFile();
 
-        if (likedSongs.contains(song)) {
-            likedSongs.remove(song);
+        if (likedSongs.remove(song)) {
             song.dislike();
+            admin.updateLikes(song, -1);
+            admin.removeLiker(song, this);
 
             return "Unlike registered successfully.";
         }
 
         likedSongs.add(song);
         song.like();
+        admin.updateLikes(song, 1);
+        admin.addLiker(song, this);
         return "Like registered successfully.";
     }
 
@@ -373,6 +392,7 @@ public class User extends LibraryEntry {
         }
 
         player.next();
+        admin.getScheduler().track(this);
 
         if (player.getCurrentAudioFile() == null) {
             return "Please load a source before skipping to the next track.";
@@ -393,6 +413,7 @@ public class User extends LibraryEntry {
         }
 
         player.prev();
+        admin.getScheduler().track(this);
 
         return "Returned to previous track successfully. The current track is %s."
                 .formatted(player.getCurrentAudioFile().getName());
@@ -410,7 +431,9 @@ public class User extends LibraryEntry {
             return "A playlist with the same name already exists.";
         }
 
-        playlists.add(new Playlist(name, username, timestamp));
+        Playlist playlist = new Playlist(name, username, timestamp);
+        playlists.add(playlist);
+        admin.addPlaylist(playlist);
 
         return "Playlist created successfully.";
     }
@@ -506,12 +529,16 @@ public class User extends LibraryEntry {
         if (followedPlaylists.contains(playlist)) {
             followedPlaylists.remove(playlist);
             playlist.decreaseFollowers();
+            admin.updateFollowers(playlist);
+            admin.unfollow(this, playlist);
 
             return "Playlist unfollowed successfully.";
         }
 
         followedPlaylists.add(playlist);
         playlist.increaseFollowers();
+        admin.updateFollowers(playlist);
+        admin.follow(this, playlist);
 
 
         return "Playlist followed successfully.";
@@ -569,14 +596,10 @@ public class User extends LibraryEntry {
     }
 
     /**
-     * Simulate time.
-     *
-     * @param time the time
+     * Brings the player up to the current timestamp.
      */
-    public void simulateTime(final int time) {
-        if (isOnline()) {
-            player.simulatePlayer(time);
-        }
+    public void updatePlayer() {
+        player.advanceTo(admin.getTimestamp(), isOnline());
     }
 
     /**
@@ -584,36 +607,25 @@ public class User extends LibraryEntry {
      */
     public void switchConnectionStatus() {
         this.online = !this.online;
+        admin.getScheduler().track(this);
     }
 
     /**
-     * Update liked songs.
+     * Removes a liked song that was deleted from the library.
      *
-     * @param songName the song name
+     * @param song the song
      */
-    public void updateLikedSongs(final String songName) {
-        Iterator<Song> iterator = likedSongs.iterator();
-        while (iterator.hasNext()) {
-            Song song = iterator.next();
-            if (song.getName().equals(songName)) {
-                iterator.remove();
-            }
-        }
+    public void removeLikedSong(final Song song) {
+        likedSongs.remove(song);
     }
 
     /**
-     * Update followed playlists.
+     * Stops following a playlist that was deleted.
      *
-     * @param playlistName the playlist name
+     * @param playlist the playlist
      */
-    public void updateFollowedPlaylistsUser(final String playlistName) {
-        Iterator<Playlist> iterator = followedPlaylists.iterator();
-        while (iterator.hasNext()) {
-            Playlist playlist = iterator.next();
-            if (playlist.getName().equals(playlistName)) {
-                iterator.remove();
-            }
-        }
+    public void removeFollowedPlaylist(final Playlist playlist) {
+        followedPlaylists.remove(playlist);
     }
 
 
@@ -714,15 +726,15 @@ public class User extends LibraryEntry {
      * @return A message indicating the success or failure of the operation.
      */
     public String deleteThis(final String username, final String pageVisited) {
-        if (verification(username).equals("playlist")) {
+        if (admin.verification(username).equals("playlist")) {
             return username + " can't be deleted.";
         }
-        User user = Admin.getUser(username);
+        User user = admin.getUser(username);
 
         if (user != null) {
-            updateFollowedPlaylists(user);
-            decrementFollowers(user);
-            users.remove(user);
+            admin.updateFollowedPlaylists(user);
+            admin.decrementFollowers(user);
+            admin.removeUser(user);
             return username + " was successfully deleted.";
         }
 
@@ -0,0 +1,356 @@
+package fileio.input;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary copy of the parsed library, so the library JSON is parsed only once. Every
+ * string is stored once in a table at the start of the file and the songs, podcasts
+ * and users refer to it by index, so equal strings are shared after loading.
+ * The snapshot remembers the size and the modification time of the JSON it was made
+ * from and is made again when they change.
+ *
+ * <p>Layout, all numbers big-endian: the magic and the version, the size and the
+ * modification time of the JSON, the string table (count, then the UTF-8 length and
+ * bytes of every string), then the songs, the podcasts and the users, each list
+ * prefixed by its size. Missing strings and lists are stored as -1 and missing numbers
+ * as {@link Integer#MIN_VALUE}.
+ */
+public final class LibrarySnapshot {
+    private static final int MAGIC = 0x4C494231;
+    private static final int VERSION = 1;
+    private static final int MISSING = -1;
+    private static final int MISSING_NUMBER = Integer.MIN_VALUE;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private LibrarySnapshot() {
+    }
+
+    /**
+     * Loads the library from the snapshot. If the snapshot is missing, can't be read or
+     * was made from another version of the JSON, the JSON is parsed and the snapshot is
+     * written again. The snapshot is only a cache: when it can't be written, the parsed
+     * library is returned all the same.
+     *
+     * @param objectMapper the object mapper used to parse the JSON
+     * @param json         the library JSON
+     * @param snapshot     the snapshot file
+     * @return the library
+     * @throws IOException in case of exceptions to reading the JSON
+     */
+    public static LibraryInput load(final ObjectMapper objectMapper, final File json,
+                                    final File snapshot) throws IOException {
+        if (snapshot.exists()) {
+            try {
+                LibraryInput library = read(snapshot, json.length(), json.lastModified());
+                if (library != null) {
+                    return library;
+                }
+            } catch (IOException | RuntimeException e) {
+                // the snapshot is cut short or corrupt, so it is made again
+            }
+        }
+
+        LibraryInput library = objectMapper.readValue(json, LibraryInput.class);
+        try {
+            write(library, snapshot, json.length(), json.lastModified());
+        } catch (IOException e) {
+            // without a snapshot the next run parses the JSON again
+        }
+        return library;
+    }
+
+    /**
+     * Writes the snapshot of a library. It is written to a temporary file of its own
+     * in the same directory, which replaces the snapshot only once it is complete.
+     *
+     * @param library      the library
+     * @param snapshot     the snapshot file
+     * @param sourceLength the size of the JSON the library was parsed from
+     * @param sourceTime   the modification time of the JSON the library was parsed from
+     * @throws IOException in case of exceptions to writing
+     */
+    public static void write(final LibraryInput library, final File snapshot,
+                             final long sourceLength, final long sourceTime)
+            throws IOException {
+        File partial = File.createTempFile(snapshot.getName(), ".tmp",
+                snapshot.getAbsoluteFile().getParentFile());
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(partial), BUFFER_SIZE))) {
+                write(out, library, sourceLength, sourceTime);
+            }
+            Files.move(partial.toPath(), snapshot.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(partial.toPath());
+        }
+    }
+
+    private static void write(final DataOutputStream out, final LibraryInput library,
+                              final long sourceLength, final long sourceTime)
+            throws IOException {
+        StringTable strings = new StringTable(library);
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(sourceLength);
+        out.writeLong(sourceTime);
+
+        out.writeInt(strings.values.size());
+        for (String value : strings.values) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        out.writeInt(sizeOf(library.getSongs()));
+        if (library.getSongs() != null) {
+            for (SongInput song : library.getSongs()) {
+                out.writeInt(strings.indexOf(song.getName()));
+                writeNumber(out, song.getDuration());
+                out.writeInt(strings.indexOf(song.getAlbum()));
+                writeStrings(out, strings, song.getTags());
+                out.writeInt(strings.indexOf(song.getLyrics()));
+                out.writeInt(strings.indexOf(song.getGenre()));
+                writeNumber(out, song.getReleaseYear());
+                out.writeInt(strings.indexOf(song.getArtist()));
+            }
+        }
+
+        out.writeInt(sizeOf(library.getPodcasts()));
+        if (library.getPodcasts() != null) {
+            for (PodcastInput podcast : library.getPodcasts()) {
+                out.writeInt(strings.indexOf(podcast.getName()));
+                out.writeInt(strings.indexOf(podcast.getOwner()));
+                out.writeInt(sizeOf(podcast.getEpisodes()));
+                if (podcast.getEpisodes() != null) {
+                    for (EpisodeInput episode : podcast.getEpisodes()) {
+                        out.writeInt(strings.indexOf(episode.getName()));
+                        writeNumber(out, episode.getDuration());
+                        out.writeInt(strings.indexOf(episode.getDescription()));
+                    }
+                }
+            }
+        }
+
+        out.writeInt(sizeOf(library.getUsers()));
+        if (library.getUsers() != null) {
+            for (UserInput user : library.getUsers()) {
+                out.writeInt(strings.indexOf(user.getUsername()));
+                out.writeInt(user.getAge());
+                out.writeInt(strings.indexOf(user.getCity()));
+            }
+        }
+    }
+
+    /**
+     * Reads a snapshot through a memory mapping of the file. A snapshot that is cut
+     * short or corrupt throws an unchecked exception.
+     *
+     * @param snapshot     the snapshot file
+     * @param sourceLength the size the JSON must have
+     * @param sourceTime   the modification time the JSON must have
+     * @return the library, or null if the snapshot was made from another JSON or by
+     *         another version of this class
+     * @throws IOException in case of exceptions to reading
+     */
+    public static LibraryInput read(final File snapshot, final long sourceLength,
+                                    final long sourceTime) throws IOException {
+        MappedByteBuffer in;
+        try (FileChannel channel = FileChannel.open(snapshot.toPath(),
+                StandardOpenOption.READ)) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (in.getInt() != MAGIC || in.getInt() != VERSION
+                || in.getLong() != sourceLength || in.getLong() != sourceTime) {
+            return null;
+        }
+
+        String[] strings = new String[size(in)];
+        byte[] bytes = new byte[0];
+        for (int i = 0; i < strings.length; i++) {
+            int length = size(in);
+            if (bytes.length < length) {
+                bytes = new byte[length];
+            }
+            in.get(bytes, 0, length);
+            strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+
+        LibraryInput library = new LibraryInput();
+
+        int songCount = size(in);
+        if (songCount != MISSING) {
+            library.setSongs(new ArrayList<>(songCount));
+            for (int i = 0; i < songCount; i++) {
+                SongInput song = new SongInput();
+                song.setName(string(strings, in.getInt()));
+                song.setDuration(number(in.getInt()));
+                song.setAlbum(string(strings, in.getInt()));
+                song.setTags(readStrings(in, strings));
+                song.setLyrics(string(strings, in.getInt()));
+                song.setGenre(string(strings, in.getInt()));
+                song.setReleaseYear(number(in.getInt()));
+                song.setArtist(string(strings, in.getInt()));
+                library.getSongs().add(song);
+            }
+        }
+
+        int podcastCount = size(in);
+        if (podcastCount != MISSING) {
+            library.setPodcasts(new ArrayList<>(podcastCount));
+            for (int i = 0; i < podcastCount; i++) {
+                PodcastInput podcast = new PodcastInput();
+                podcast.setName(string(strings, in.getInt()));
+                podcast.setOwner(string(strings, in.getInt()));
+                int episodeCount = size(in);
+                if (episodeCount != MISSING) {
+                    podcast.setEpisodes(new ArrayList<>(episodeCount));
+                    for (int j = 0; j < episodeCount; j++) {
+                        EpisodeInput episode = new EpisodeInput();
+                        episode.setName(string(strings, in.getInt()));
+                        episode.setDuration(number(in.getInt()));
+                        episode.setDescription(string(strings, in.getInt()));
+                        podcast.getEpisodes().add(episode);
+                    }
+                }
+                library.getPodcasts().add(podcast);
+            }
+        }
+
+        int userCount = size(in);
+        if (userCount != MISSING) {
+            library.setUsers(new ArrayList<>(userCount));
+            for (int i = 0; i < userCount; i++) {
+                UserInput user = new UserInput();
+                user.setUsername(string(strings, in.getInt()));
+                user.setAge(in.getInt());
+                user.setCity(string(strings, in.getInt()));
+                library.getUsers().add(user);
+            }
+        }
+
+        return library;
+    }
+
+    private static int sizeOf(final List<?> list) {
+        return list != null ? list.size() : MISSING;
+    }
+
+    private static void writeNumber(final DataOutputStream out, final Integer number)
+            throws IOException {
+        out.writeInt(number != null ? number : MISSING_NUMBER);
+    }
+
+    private static void writeStrings(final DataOutputStream out, final StringTable strings,
+                                     final List<String> values) throws IOException {
+        out.writeInt(sizeOf(values));
+        if (values != null) {
+            for (String value : values) {
+                out.writeInt(strings.indexOf(value));
+            }
+        }
+    }
+
+    private static ArrayList<String> readStrings(final MappedByteBuffer in,
+                                                 final String[] strings) {
+        int count = size(in);
+        if (count == MISSING) {
+            return null;
+        }
+        ArrayList<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(string(strings, in.getInt()));
+        }
+        return values;
+    }
+
+    /**
+     * Reads the size of a list or a string. A size that can't fit in the rest of the
+     * file means the snapshot is corrupt, so nothing is allocated for it.
+     */
+    private static int size(final MappedByteBuffer in) {
+        int size = in.getInt();
+        if (size < MISSING || size > in.remaining()) {
+            throw new IllegalStateException("Corrupt snapshot, size " + size);
+        }
+        return size;
+    }
+
+    private static String string(final String[] strings, final int index) {
+        return index != MISSING ? strings[index] : null;
+    }
+
+    private static Integer number(final int value) {
+        return value != MISSING_NUMBER ? value : null;
+    }
+
+    /**
+     * Every distinct string of a library, in the order they are first met.
+     */
+    private static final class StringTable {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        StringTable(final LibraryInput library) {
+            if (library.getSongs() != null) {
+                for (SongInput song : library.getSongs()) {
+                    add(song.getName());
+                    add(song.getAlbum());
+                    if (song.getTags() != null) {
+                        song.getTags().forEach(this::add);
+                    }
+                    add(song.getLyrics());
+                    add(song.getGenre());
+                    add(song.getArtist());
+                }
+            }
+            if (library.getPodcasts() != null) {
+                for (PodcastInput podcast : library.getPodcasts()) {
+                    add(podcast.getName());
+                    add(podcast.getOwner());
+                    if (podcast.getEpisodes() != null) {
+                        for (EpisodeInput episode : podcast.getEpisodes()) {
+                            add(episode.getName());
+                            add(episode.getDescription());
+                        }
+                    }
+                }
+            }
+            if (library.getUsers() != null) {
+                for (UserInput user : library.getUsers()) {
+                    add(user.getUsername());
+                    add(user.getCity());
+                }
+            }
+        }
+
+        private void add(final String value) {
+            if (value != null && !indexes.containsKey(value)) {
+                indexes.put(value, values.size());
+                values.add(value);
+            }
+        }
+
+        int indexOf(final String value) {
+            return value != null ? indexes.get(value) : MISSING;
+        }
+    }
+}
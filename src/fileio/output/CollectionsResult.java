@@ -0,0 +1,52 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import fileio.input.CommandInput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of a command that lists collections with the names of their tracks,
+ * like the albums of an artist or the podcasts of a host.
+ */
+public final class CollectionsResult extends CommandResult {
+    private final String tracksField;
+    private final List<String> names = new ArrayList<>();
+    private final List<List<String>> tracks = new ArrayList<>();
+
+    /**
+     * Instantiates a new Collections result.
+     *
+     * @param commandInput the command input
+     * @param tracksField  the name of the field with the tracks of a collection
+     */
+    public CollectionsResult(final CommandInput commandInput, final String tracksField) {
+        super(commandInput, Envelope.COMMAND_USER_TIMESTAMP);
+        this.tracksField = tracksField;
+    }
+
+    /**
+     * Adds a collection.
+     *
+     * @param name        the name of the collection
+     * @param trackNames  the names of its tracks
+     */
+    public void add(final String name, final List<String> trackNames) {
+        names.add(name);
+        tracks.add(trackNames);
+    }
+
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        generator.writeArrayFieldStart("result");
+        for (int i = 0; i < names.size(); i++) {
+            generator.writeStartObject();
+            generator.writeStringField("name", names.get(i));
+            writeStrings(generator, tracksField, tracks.get(i));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+}
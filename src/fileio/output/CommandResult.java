@@ -0,0 +1,100 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import fileio.input.CommandInput;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The result of a command, written straight to the output instead of being built
+ * as a JSON tree first. Every result starts with the same envelope (the command, the
+ * user and the timestamp) and continues with the fields of its own command.
+ */
+public abstract class CommandResult {
+    /**
+     * The fields of the envelope, in the order they are written.
+     */
+    public enum Envelope {
+        COMMAND_USER_TIMESTAMP,
+        COMMAND_TIMESTAMP,
+        USER_COMMAND_TIMESTAMP,
+        NONE
+    }
+
+    private final Envelope envelope;
+    private final String command;
+    private final String user;
+    private final Integer timestamp;
+
+    protected CommandResult(final CommandInput commandInput, final Envelope envelope) {
+        this.envelope = envelope;
+        this.command = commandInput.getCommand();
+        this.user = commandInput.getUsername();
+        this.timestamp = commandInput.getTimestamp();
+    }
+
+    /**
+     * Writes the result as a JSON object.
+     *
+     * @param generator the generator
+     * @throws IOException in case of exceptions to writing
+     */
+    public final void writeTo(final JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        switch (envelope) {
+            case COMMAND_USER_TIMESTAMP:
+                generator.writeStringField("command", command);
+                generator.writeStringField("user", user);
+                writeTimestamp(generator);
+                break;
+            case COMMAND_TIMESTAMP:
+                generator.writeStringField("command", command);
+                writeTimestamp(generator);
+                break;
+            case USER_COMMAND_TIMESTAMP:
+                generator.writeStringField("user", user);
+                generator.writeStringField("command", command);
+                writeTimestamp(generator);
+                break;
+            default:
+                break;
+        }
+        writeFields(generator);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the fields that follow the envelope.
+     *
+     * @param generator the generator
+     * @throws IOException in case of exceptions to writing
+     */
+    protected abstract void writeFields(JsonGenerator generator) throws IOException;
+
+    /**
+     * Writes an array of strings.
+     *
+     * @param generator the generator
+     * @param name      the name of the field
+     * @param values    the strings
+     * @throws IOException in case of exceptions to writing
+     */
+    protected static void writeStrings(final JsonGenerator generator, final String name,
+                                       final List<String> values) throws IOException {
+        generator.writeArrayFieldStart(name);
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeTimestamp(final JsonGenerator generator) throws IOException {
+        generator.writeFieldName("timestamp");
+        if (timestamp == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(timestamp);
+        }
+    }
+}
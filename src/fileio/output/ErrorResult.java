@@ -0,0 +1,29 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import fileio.input.CommandInput;
+
+import java.io.IOException;
+
+/**
+ * The result of a command that could not run, without the envelope.
+ */
+public final class ErrorResult extends CommandResult {
+    private final String error;
+
+    /**
+     * Instantiates a new Error result.
+     *
+     * @param commandInput the command input
+     * @param error        the error
+     */
+    public ErrorResult(final CommandInput commandInput, final String error) {
+        super(commandInput, Envelope.NONE);
+        this.error = error;
+    }
+
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        generator.writeStringField("error", error);
+    }
+}
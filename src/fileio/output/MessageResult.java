@@ -0,0 +1,41 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import fileio.input.CommandInput;
+
+import java.io.IOException;
+
+/**
+ * The result of a command that answers with a message.
+ */
+public final class MessageResult extends CommandResult {
+    private final String message;
+
+    /**
+     * Instantiates a new Message result.
+     *
+     * @param commandInput the command input
+     * @param message      the message
+     */
+    public MessageResult(final CommandInput commandInput, final String message) {
+        this(commandInput, Envelope.COMMAND_USER_TIMESTAMP, message);
+    }
+
+    /**
+     * Instantiates a new Message result.
+     *
+     * @param commandInput the command input
+     * @param envelope     the fields of the envelope
+     * @param message      the message
+     */
+    public MessageResult(final CommandInput commandInput, final Envelope envelope,
+                         final String message) {
+        super(commandInput, envelope);
+        this.message = message;
+    }
+
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        generator.writeStringField("message", message);
+    }
+}
@@ -0,0 +1,32 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import fileio.input.CommandInput;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The result of a command that answers with a list of names, like the top 5 songs.
+ */
+public final class NamesResult extends CommandResult {
+    private final List<String> names;
+
+    /**
+     * Instantiates a new Names result.
+     *
+     * @param commandInput the command input
+     * @param envelope     the fields of the envelope
+     * @param names        the names
+     */
+    public NamesResult(final CommandInput commandInput, final Envelope envelope,
+                       final List<String> names) {
+        super(commandInput, envelope);
+        this.names = names;
+    }
+
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        writeStrings(generator, "result", names);
+    }
+}
@@ -0,0 +1,72 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes the results of the commands to the output file as a JSON array, one result
+ * at a time, instead of keeping all of them in memory until the end.
+ */
+public final class OutputWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final JsonGenerator generator;
+    private final boolean buffered;
+
+    /**
+     * Instantiates a new Output writer and starts the array of results.
+     *
+     * @param objectMapper the object mapper
+     * @param file         the output file
+     * @param prettyPrint  whether the output is indented like the default pretty printer
+     * @param buffered     whether the results are buffered, instead of being flushed to
+     *                     the file as soon as they are written
+     * @throws IOException in case of exceptions to writing
+     */
+    public OutputWriter(final ObjectMapper objectMapper, final File file,
+                        final boolean prettyPrint, final boolean buffered) throws IOException {
+        OutputStream stream = new FileOutputStream(file);
+        if (buffered) {
+            stream = new BufferedOutputStream(stream, BUFFER_SIZE);
+        }
+
+        this.generator = objectMapper.getFactory().createGenerator(stream);
+        this.buffered = buffered;
+        if (prettyPrint) {
+            generator.setPrettyPrinter(new DefaultPrettyPrinter());
+        }
+        generator.writeStartArray();
+    }
+
+    /**
+     * Writes the result of a command.
+     *
+     * @param result the result
+     * @throws IOException in case of exceptions to writing
+     */
+    public void write(final CommandResult result) throws IOException {
+        result.writeTo(generator);
+        if (!buffered) {
+            generator.flush();
+        }
+    }
+
+    /**
+     * Ends the array of results and closes the file.
+     *
+     * @throws IOException in case of exceptions to writing
+     */
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+    }
+}
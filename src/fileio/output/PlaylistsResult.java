@@ -0,0 +1,41 @@
+package fileio.output;
+
+import app.audio.Collections.PlaylistOutput;
+import com.fasterxml.jackson.core.JsonGenerator;
+import fileio.input.CommandInput;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The result of showing the playlists of a user.
+ */
+public final class PlaylistsResult extends CommandResult {
+    private final List<PlaylistOutput> playlists;
+
+    /**
+     * Instantiates a new Playlists result.
+     *
+     * @param commandInput the command input
+     * @param playlists    the playlists
+     */
+    public PlaylistsResult(final CommandInput commandInput,
+                           final List<PlaylistOutput> playlists) {
+        super(commandInput, Envelope.COMMAND_USER_TIMESTAMP);
+        this.playlists = playlists;
+    }
+
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        generator.writeArrayFieldStart("result");
+        for (PlaylistOutput playlist : playlists) {
+            generator.writeStartObject();
+            generator.writeStringField("name", playlist.getName());
+            writeStrings(generator, "songs", playlist.getSongs());
+            generator.writeStringField("visibility", playlist.getVisibility());
+            generator.writeNumberField("followers", playlist.getFollowers());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+}
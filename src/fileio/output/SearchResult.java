@@ -0,0 +1,35 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import fileio.input.CommandInput;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * The result of a search: a message and the names of the results.
+ */
+public final class SearchResult extends CommandResult {
+    private final String message;
+    private final List<String> results;
+
+    /**
+     * Instantiates a new Search result.
+     *
+     * @param commandInput the command input
+     * @param message      the message
+     * @param results      the names of the results
+     */
+    public SearchResult(final CommandInput commandInput, final String message,
+                        final List<String> results) {
+        super(commandInput, Envelope.COMMAND_USER_TIMESTAMP);
+        this.message = message;
+        this.results = results;
+    }
+
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        generator.writeStringField("message", message);
+        writeStrings(generator, "results", results);
+    }
+}
@@ -0,0 +1,36 @@
+package fileio.output;
+
+import app.player.PlayerStats;
+import com.fasterxml.jackson.core.JsonGenerator;
+import fileio.input.CommandInput;
+
+import java.io.IOException;
+
+/**
+ * The result of the status command.
+ */
+public final class StatsResult extends CommandResult {
+    private final PlayerStats stats;
+
+    /**
+     * Instantiates a new Stats result.
+     *
+     * @param commandInput the command input
+     * @param stats        the stats of the player
+     */
+    public StatsResult(final CommandInput commandInput, final PlayerStats stats) {
+        super(commandInput, Envelope.COMMAND_USER_TIMESTAMP);
+        this.stats = stats;
+    }
+
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        generator.writeObjectFieldStart("stats");
+        generator.writeStringField("name", stats.getName());
+        generator.writeNumberField("remainedTime", stats.getRemainedTime());
+        generator.writeStringField("repeat", stats.getRepeat());
+        generator.writeBooleanField("shuffle", stats.isShuffle());
+        generator.writeBooleanField("paused", stats.isPaused());
+        generator.writeEndObject();
+    }
+}
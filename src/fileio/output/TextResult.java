@@ -0,0 +1,29 @@
+package fileio.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import fileio.input.CommandInput;
+
+import java.io.IOException;
+
+/**
+ * The result of a command that answers with a single value, like the preferred genre.
+ */
+public final class TextResult extends CommandResult {
+    private final String text;
+
+    /**
+     * Instantiates a new Text result.
+     *
+     * @param commandInput the command input
+     * @param text         the value, or null
+     */
+    public TextResult(final CommandInput commandInput, final String text) {
+        super(commandInput, Envelope.COMMAND_USER_TIMESTAMP);
+        this.text = text;
+    }
+
+    @Override
+    protected void writeFields(final JsonGenerator generator) throws IOException {
+        generator.writeStringField("result", text);
+    }
+}
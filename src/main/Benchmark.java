@@ -0,0 +1,378 @@
+package main;
+
+import app.audio.Collections.Playlist;
+import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+import app.searchBar.FilterUtils;
+import app.searchBar.Filters;
+import app.searchBar.SongIndex;
+import checker.CheckerConstants;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fileio.input.CommandInput;
+import fileio.input.FiltersInput;
+import fileio.input.LibraryInput;
+import fileio.input.LibrarySnapshot;
+import fileio.input.SongInput;
+import fileio.output.CommandResult;
+import fileio.output.MessageResult;
+import fileio.output.SearchResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Use this to measure the hot paths of the application. Run it from the root
+ * of the project, like {@link Main}.
+ */
+public final class Benchmark {
+    private static final int COPIES = 500;
+    private static final int WARMUP = 3;
+    private static final int ROUNDS = 10;
+    private static final int MAX_RESULTS = 5;
+    private static final int QUERY_LENGTH = 12;
+    private static final int NANOS_PER_MICRO = 1000;
+    private static final int RESULTS = 100_000;
+    private static final int ALBUM_SIZE = 10;
+    private static final int ALBUM_CYCLES = 20_000;
+    private static final int GC_ROUNDS = 3;
+    private static final int BYTES_PER_KB = 1024;
+    private static final int ALLOCATION_SLACK = 256;
+    private static final String LIBRARY_PATH = CheckerConstants.TESTS_PATH
+            + "library/library.json";
+
+    /**
+     * for coding style
+     */
+    private Benchmark() {
+    }
+
+    /**
+     * @param args from command line
+     * @throws IOException in case of exceptions to reading
+     */
+    public static void main(final String[] args) throws IOException {
+        // first, while neither way of loading the library ran in this JVM
+        benchmarkLibraryLoad();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        LibraryInput library = objectMapper.readValue(new File(LIBRARY_PATH),
+                LibraryInput.class);
+
+        List<Song> songs = copySongs(library);
+        benchmarkLyricsSearch(library, songs);
+        benchmarkIndexFootprint(songs);
+        checkFilterAllocation(songs);
+        benchmarkOutput(objectMapper, library);
+    }
+
+    /**
+     * Compares parsing the library JSON with reading its binary snapshot, the first
+     * time (cold) and once the JVM has warmed up (warm).
+     */
+    private static void benchmarkLibraryLoad() throws IOException {
+        File json = new File(LIBRARY_PATH);
+        File snapshot = File.createTempFile("library", ".snapshot");
+        snapshot.deleteOnExit();
+
+        long start = System.nanoTime();
+        LibraryInput library = new ObjectMapper().readValue(json, LibraryInput.class);
+        long coldJson = System.nanoTime() - start;
+
+        LibrarySnapshot.write(library, snapshot, json.length(), json.lastModified());
+        start = System.nanoTime();
+        LibrarySnapshot.read(snapshot, json.length(), json.lastModified());
+        long coldSnapshot = System.nanoTime() - start;
+
+        long warmJson = measure(() -> {
+            try {
+                new ObjectMapper().readValue(json, LibraryInput.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        long warmSnapshot = measure(() -> {
+            try {
+                LibrarySnapshot.read(snapshot, json.length(), json.lastModified());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        System.out.printf("Library load (%d bytes of JSON, %d bytes of snapshot):%n",
+                json.length(), snapshot.length());
+        System.out.printf("  cold: JSON %d us, snapshot %d us%n",
+                coldJson / NANOS_PER_MICRO, coldSnapshot / NANOS_PER_MICRO);
+        System.out.printf("  warm: JSON %d us, snapshot %d us%n",
+                warmJson / NANOS_PER_MICRO, warmSnapshot / NANOS_PER_MICRO);
+    }
+
+    private static List<Song> copySongs(final LibraryInput library) {
+        List<Song> songs = new ArrayList<>();
+        for (int i = 0; i < COPIES; i++) {
+            for (SongInput songInput : library.getSongs()) {
+                songs.add(new Song(songInput.getName(), songInput.getDuration(),
+                        songInput.getAlbum(), songInput.getTags(), songInput.getLyrics(),
+                        songInput.getGenre(), songInput.getReleaseYear(), songInput.getArtist()));
+            }
+        }
+        return songs;
+    }
+
+    /**
+     * Compares the lyrics search through the trigram index with the scan over every
+     * song that the search did before the index.
+     */
+    private static void benchmarkLyricsSearch(final LibraryInput library,
+                                              final List<Song> songs) {
+        SongIndex songIndex = new SongIndex();
+        for (Song song : songs) {
+            songIndex.add(song);
+        }
+
+        // a text from the middle of the last song, one from every song and one from none
+        String lyrics = library.getSongs().get(library.getSongs().size() - 1).getLyrics();
+        int middle = Math.max(0, lyrics.length() / 2 - QUERY_LENGTH / 2);
+        List<String> queries = List.of(
+                lyrics.substring(middle, Math.min(lyrics.length(), middle + QUERY_LENGTH)),
+                " ",
+                "qzxjv qzxjv");
+
+        System.out.println("Lyrics search over " + songs.size() + " songs");
+        for (String query : queries) {
+            FiltersInput filtersInput = new FiltersInput();
+            filtersInput.setLyrics(query);
+            Filters filters = new Filters(filtersInput);
+
+            long scan = measure(() -> scanLyrics(songs, query));
+            long indexed = measure(() -> songIndex.search(filters, MAX_RESULTS));
+            System.out.printf("  \"%s\": scan %d us, trigram index %d us%n",
+                    query, scan / NANOS_PER_MICRO, indexed / NANOS_PER_MICRO);
+        }
+    }
+
+    /**
+     * Measures the memory the song index keeps, once built and after an album was
+     * removed and added again many times, like artists that come and go with their albums.
+     */
+    private static void benchmarkIndexFootprint(final List<Song> songs) {
+        long before = usedHeap();
+        SongIndex songIndex = new SongIndex();
+        for (Song song : songs) {
+            songIndex.add(song);
+        }
+        long built = usedHeap() - before;
+
+        List<Song> album = songs.subList(songs.size() - ALBUM_SIZE, songs.size());
+        for (int i = 0; i < ALBUM_CYCLES; i++) {
+            album.forEach(songIndex::remove);
+            album.forEach(songIndex::add);
+        }
+        long cycled = usedHeap() - before;
+        Reference.reachabilityFence(songIndex);
+
+        System.out.printf("Song index footprint over %d songs: %d KB built, %d KB after "
+                        + "%d album removals and additions%n", songs.size(),
+                built / BYTES_PER_KB, cycled / BYTES_PER_KB, ALBUM_CYCLES);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Checks that searching doesn't allocate anything for each entry it looks at:
+     * searching twice as many entries must not allocate more. The filters pass every
+     * entry but the last check, so every entry goes through every stage and the
+     * results stay empty. Fails if searching all the entries allocates more than a few
+     * bytes over searching half of them.
+     */
+    private static void checkFilterAllocation(final List<Song> songs) {
+        // playlists through the fused pipeline: the owner, the followers and the name
+        // match, and the last stage, the visibility, rejects them
+        List<Playlist> playlists = new ArrayList<>();
+        for (int i = 0; i < songs.size(); i++) {
+            Playlist playlist = new Playlist("playlist " + i, "bob");
+            playlist.switchVisibility();
+            playlists.add(playlist);
+        }
+        FiltersInput playlistFilters = new FiltersInput();
+        playlistFilters.setName("Playlist");
+        playlistFilters.setOwner("bob");
+        playlistFilters.setFollowers(">-1");
+        FilterUtils.Pipeline pipeline = FilterUtils.pipeline(new Filters(playlistFilters),
+                "playlist", "alice22");
+        List<Playlist> halfPlaylists = playlists.subList(0, playlists.size() / 2);
+        checkNoAllocationPerEntry("Playlist pipeline", halfPlaylists.size(),
+                () -> pipeline.collect(halfPlaylists, MAX_RESULTS), playlists.size(),
+                () -> pipeline.collect(playlists, MAX_RESULTS));
+
+        // songs through the index: a text too short for a trigram makes every song a
+        // candidate, and no song has it in its lyrics
+        SongIndex halfIndex = new SongIndex();
+        SongIndex allIndex = new SongIndex();
+        for (int i = 0; i < songs.size(); i++) {
+            if (i < songs.size() / 2) {
+                halfIndex.add(songs.get(i));
+            }
+            allIndex.add(songs.get(i));
+        }
+        FiltersInput songFilters = new FiltersInput();
+        songFilters.setLyrics("QZ");
+        Filters filters = new Filters(songFilters);
+        checkNoAllocationPerEntry("Song index", songs.size() / 2,
+                () -> halfIndex.search(filters, MAX_RESULTS), songs.size(),
+                () -> allIndex.search(filters, MAX_RESULTS));
+    }
+
+    private static void checkNoAllocationPerEntry(final String what, final int halfSize,
+                                                  final Runnable half, final int allSize,
+                                                  final Runnable all) {
+        for (int i = 0; i < WARMUP; i++) {
+            half.run();
+            all.run();
+        }
+
+        long allocatedHalf = allocatedBy(half);
+        long allocatedAll = allocatedBy(all);
+        long growth = allocatedAll - allocatedHalf;
+        System.out.println(what + " allocation: " + allocatedHalf + " bytes for "
+                + halfSize + " entries, " + allocatedAll + " bytes for " + allSize
+                + " entries");
+        if (growth > ALLOCATION_SLACK) {
+            throw new IllegalStateException(what + " allocates " + growth
+                    + " more bytes for " + (allSize - halfSize) + " more entries");
+        }
+    }
+
+    /**
+     * Compares writing the results of the commands through a JSON tree, like before,
+     * with writing the typed results straight to the generator.
+     */
+    private static void benchmarkOutput(final ObjectMapper objectMapper,
+                                        final LibraryInput library) {
+        CommandInput search = new CommandInput();
+        search.setCommand("search");
+        search.setUsername("alice22");
+        search.setTimestamp(1);
+        CommandInput select = new CommandInput();
+        select.setCommand("select");
+        select.setUsername("alice22");
+        select.setTimestamp(2);
+
+        List<String> names = new ArrayList<>();
+        for (SongInput song : library.getSongs().subList(0, MAX_RESULTS)) {
+            names.add(song.getName());
+        }
+        String message = "Search returned " + names.size() + " results";
+
+        Runnable tree = () -> write(objectMapper, generator -> {
+            for (int i = 0; i < RESULTS; i++) {
+                ObjectNode searchNode = objectMapper.createObjectNode();
+                searchNode.put("command", search.getCommand());
+                searchNode.put("user", search.getUsername());
+                searchNode.put("timestamp", search.getTimestamp());
+                searchNode.put("message", message);
+                searchNode.set("results", objectMapper.valueToTree(names));
+                generator.writeTree(searchNode);
+
+                ObjectNode selectNode = objectMapper.createObjectNode();
+                selectNode.put("command", select.getCommand());
+                selectNode.put("user", select.getUsername());
+                selectNode.put("timestamp", select.getTimestamp());
+                selectNode.put("message", "Successfully selected " + names.get(0) + ".");
+                generator.writeTree(selectNode);
+            }
+        });
+        Runnable typed = () -> write(objectMapper, generator -> {
+            for (int i = 0; i < RESULTS; i++) {
+                CommandResult searchResult = new SearchResult(search, message, names);
+                searchResult.writeTo(generator);
+
+                CommandResult selectResult = new MessageResult(select,
+                        "Successfully selected " + names.get(0) + ".");
+                selectResult.writeTo(generator);
+            }
+        });
+
+        long treeTime = measure(tree);
+        long typedTime = measure(typed);
+        long treeAllocated = allocatedBy(tree);
+        long typedAllocated = allocatedBy(typed);
+        System.out.printf("Output of %d results: tree %d us (%d bytes), typed %d us (%d bytes)%n",
+                2 * RESULTS, treeTime / NANOS_PER_MICRO, treeAllocated,
+                typedTime / NANOS_PER_MICRO, typedAllocated);
+    }
+
+    /**
+     * Writes results like the output file does, but drops the bytes.
+     */
+    private static void write(final ObjectMapper objectMapper, final Results results) {
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(OutputStream.nullOutputStream())) {
+            generator.setPrettyPrinter(new DefaultPrettyPrinter());
+            generator.writeStartArray();
+            results.writeTo(generator);
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface Results {
+        void writeTo(JsonGenerator generator) throws IOException;
+    }
+
+    private static long allocatedBy(final Runnable run) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        run.run();
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    /**
+     * The lyrics search of the baseline: every song is checked, folding its lyrics and
+     * the text again each time, and the results are cut to the limit at the end.
+     */
+    private static List<LibraryEntry> scanLyrics(final List<Song> songs, final String lyrics) {
+        List<LibraryEntry> result = new ArrayList<>();
+        for (Song song : songs) {
+            if (song.getLyrics().toLowerCase().contains(lyrics.toLowerCase())) {
+                result.add(song);
+            }
+        }
+        while (result.size() > MAX_RESULTS) {
+            result.remove(result.size() - 1);
+        }
+        return result;
+    }
+
+    /**
+     * @return the average time of one run, in nanoseconds
+     */
+    private static long measure(final Runnable run) {
+        for (int i = 0; i < WARMUP; i++) {
+            run.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            run.run();
+        }
+        return (System.nanoTime() - start) / ROUNDS;
+    }
+}
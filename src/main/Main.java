@@ -1,14 +1,20 @@
 package main;
 
 import app.Admin;
-import app.CommandRunner;
+import app.CommandDispatcher;
+import app.SessionCoordinator;
 import checker.Checker;
 import checker.CheckerConstants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.ObjectReader;
 import fileio.input.CommandInput;
 import fileio.input.LibraryInput;
+import fileio.input.LibrarySnapshot;
+import fileio.output.CommandResult;
+import fileio.output.OutputWriter;
 
 import java.io.File;
 import java.io.IOException;
@@ -22,6 +28,16 @@ import java.util.Objects;
  * The entry point to this homework. It runs the checker that tests your implentation.
  */
 public final class Main {
+    private static final boolean PRETTY_PRINT = true;
+    private static final boolean BUFFERED_OUTPUT = true;
+    // run the user-local commands of different users at once, see SessionCoordinator
+    private static final boolean USER_SESSIONS = true;
+    private static final int SESSION_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final String LIBRARY_PATH = CheckerConstants.TESTS_PATH
+            + "library/library.json";
+    private static final String SNAPSHOT_PATH = CheckerConstants.TESTS_PATH
+            + "library/library.snapshot";
+
     /**
      * for coding style
      */
@@ -72,13 +88,10 @@ public final class Main {
     public static void action(final String filePath1,
                               final String filePath2) throws IOException {
         ObjectMapper objectMapper = new ObjectMapper();
-        LibraryInput library = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH
-                        + "library/library.json"),
-                LibraryInput.class);
-        CommandInput[] commands = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH
-                        + filePath1),
-                CommandInput[].class);
-        ArrayNode outputs = objectMapper.createArrayNode();
+        // the library JSON is parsed only by the first run, the others map its snapshot
+        LibraryInput library = LibrarySnapshot.load(objectMapper, new File(LIBRARY_PATH),
+                new File(SNAPSHOT_PATH));
+        ObjectReader commandReader = objectMapper.readerFor(CommandInput.class);
 
 
 //                  A fost folosit pentru a rula cate un singur test
@@ -89,67 +102,44 @@ public final class Main {
 //        }
 
 
-        Admin.setUsers(library.getUsers());
-        Admin.setSongs(library.getSongs());
-        Admin.setPodcasts(library.getPodcasts());
-
-        for (CommandInput command : commands) {
-            Admin.updateTimestamp(command.getTimestamp());
-
-            String commandName = command.getCommand();
-
-            switch (commandName) {
-                case "search" -> outputs.add(CommandRunner.search(command));
-                case "select" -> outputs.add(CommandRunner.select(command));
-                case "load" -> outputs.add(CommandRunner.load(command));
-                case "playPause" -> outputs.add(CommandRunner.playPause(command));
-                case "repeat" -> outputs.add(CommandRunner.repeat(command));
-                case "shuffle" -> outputs.add(CommandRunner.shuffle(command));
-                case "forward" -> outputs.add(CommandRunner.forward(command));
-                case "backward" -> outputs.add(CommandRunner.backward(command));
-                case "like" -> outputs.add(CommandRunner.like(command));
-                case "next" -> outputs.add(CommandRunner.next(command));
-                case "prev" -> outputs.add(CommandRunner.prev(command));
-                case "createPlaylist" -> outputs.add(CommandRunner.createPlaylist(command));
-                case "addRemoveInPlaylist" -> outputs.add(CommandRunner
-                        .addRemoveInPlaylist(command));
-                case "switchVisibility" -> outputs.add(CommandRunner.switchVisibility(command));
-                case "showPlaylists" -> outputs.add(CommandRunner.showPlaylists(command));
-                case "follow" -> outputs.add(CommandRunner.follow(command));
-                case "status" -> outputs.add(CommandRunner.status(command));
-                case "showPreferredSongs" -> outputs.add(CommandRunner.showLikedSongs(command));
-                case "getPreferredGenre" -> outputs.add(CommandRunner.getPreferredGenre(command));
-                case "getTop5Songs" -> outputs.add(CommandRunner.getTop5Songs(command));
-                case "getTop5Playlists" -> outputs.add(CommandRunner.getTop5Playlists(command));
-                case "switchConnectionStatus" -> outputs.add(CommandRunner
-                        .switchConnectionStatus(command));
-                case "getOnlineUsers" -> outputs.add(CommandRunner.getOnlineUsers(command));
-                case "addUser" -> outputs.add(CommandRunner.addUser(command));
-                case "addAlbum" -> outputs.add(CommandRunner.addAlbum(command));
-                case "showAlbums" -> outputs.add(CommandRunner.showAlbums(command));
-                case "addEvent" -> outputs.add(CommandRunner.addEvent(command));
-                case "printCurrentPage" -> outputs.add(CommandRunner.printCurrentPage(command));
-                case "addMerch" -> outputs.add(CommandRunner.addMerch(command));
-                case "getAllUsers" -> outputs.add(CommandRunner.getAllUsers(command));
-                case "deleteUser" -> outputs.add(CommandRunner.deleteUser(command));
-                case "addPodcast" -> outputs.add(CommandRunner.addPodcast(command));
-                case "addAnnouncement" -> outputs.add(CommandRunner.addAnnouncement(command));
-                case "removeAnnouncement" -> outputs.add(CommandRunner
-                        .removeAnnouncement(command));
-                case "showPodcasts" -> outputs.add(CommandRunner.showPodcasts(command));
-                case "removeAlbum" -> outputs.add(CommandRunner.removeAlbum(command));
-                case "changePage" -> outputs.add(CommandRunner.changePage(command));
-                case "removePodcast" -> outputs.add(CommandRunner.removePodcast(command));
-                case "getTop5Albums" -> outputs.add(CommandRunner.getTop5Albums(command));
-                case "removeEvent" -> outputs.add(CommandRunner.removeEvent(command));
-                case "getTop5Artists" -> outputs.add(CommandRunner.getTop5Artists(command));
-                default -> System.out.println("Invalid command " + commandName);
+        // every run has its own admin, so nothing is left over from the previous one
+        Admin admin = new Admin();
+        admin.setUsers(library.getUsers());
+        admin.setSongs(library.getSongs());
+        admin.setPodcasts(library.getPodcasts());
+
+        // the commands are read one at a time, so only the current one is kept in memory
+        // and every result is written as soon as it is produced
+        try (JsonParser parser = objectMapper.getFactory().createParser(
+                new File(CheckerConstants.TESTS_PATH + filePath1));
+             OutputWriter output = new OutputWriter(objectMapper, new File(filePath2),
+                     PRETTY_PRINT, BUFFERED_OUTPUT);
+             SessionCoordinator sessions = USER_SESSIONS
+                     ? new SessionCoordinator(admin, output, SESSION_THREADS) : null) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected an array of commands in " + filePath1);
+            }
+            // step inside the array, so the iterator reads its elements one by one
+            if (parser.nextToken() != JsonToken.END_ARRAY) {
+                MappingIterator<CommandInput> commands = commandReader.readValues(parser);
+                while (commands.hasNext()) {
+                    if (sessions != null) {
+                        sessions.submit(commands.next());
+                    } else {
+                        execute(admin, commands.next(), output);
+                    }
+                }
             }
         }
+    }
 
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
-        objectWriter.writeValue(new File(filePath2), outputs);
-
-        Admin.reset();
+    private static void execute(final Admin admin, final CommandInput command,
+                                final OutputWriter output) throws IOException {
+        CommandResult result = CommandDispatcher.dispatch(admin, command);
+        if (result == null) {
+            System.out.println("Invalid command " + command.getCommand());
+            return;
+        }
+        output.write(result);
     }
 }